@@ -1,22 +1,56 @@
 package com.nsr.ai.api;
 
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 /**
  * Represents a message sent to or received from the AI.
+ * The sender's {@link UUID} instance is shared rather than copied, and the UTF-8 size is computed once
+ * (it fits in the object's alignment padding), so history trimming and prompt budgeting can read it
+ * without touching the text.
  */
 public class AIMessage {
+
+    // Object header plus the fields below on a 64-bit JVM with compressed oops; the shared sender UUID is not counted
+    private static final int OBJECT_BYTES = 32;
+
     private final String content;
     private final UUID senderId;
+    private final int utf8Length;
+    private final long timestamp;
 
     /**
-     * Constructs a new AIMessage.
+     * Constructs a new AIMessage created now.
      * @param content The text content of the message.
      * @param senderId The UUID of the sender (e.g., player).
      */
     public AIMessage(String content, UUID senderId) {
+        this(content, senderId, System.currentTimeMillis());
+    }
+
+    /**
+     * Constructs a new AIMessage with an explicit creation time, e.g. when restoring a stored history.
+     * @param content The text content of the message.
+     * @param senderId The UUID of the sender (e.g., player).
+     * @param timestamp The creation time of the message, in milliseconds since the epoch.
+     */
+    public AIMessage(String content, UUID senderId, long timestamp) {
         this.content = content;
         this.senderId = senderId;
+        this.utf8Length = TextMetrics.utf8Length(content);
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Constructs a new AIMessage from a UTF-8 encoded payload.
+     * @param utf8Content The UTF-8 encoded text content of the message.
+     * @param senderMostSigBits The most significant bits of the sender's UUID.
+     * @param senderLeastSigBits The least significant bits of the sender's UUID.
+     * @param timestamp The creation time of the message, in milliseconds since the epoch.
+     * @return The decoded message.
+     */
+    public static AIMessage fromUtf8(byte[] utf8Content, long senderMostSigBits, long senderLeastSigBits, long timestamp) {
+        return new AIMessage(new String(utf8Content, StandardCharsets.UTF_8), new UUID(senderMostSigBits, senderLeastSigBits), timestamp);
     }
 
     /**
@@ -26,7 +60,58 @@ public class AIMessage {
     public String getContent() { return content; }
     /**
      * Gets the UUID of the message sender.
-     * @return The sender's UUID.
+     * @return The sender's UUID, or null if the message has no sender.
      */
     public UUID getSenderId() { return senderId; }
+    /**
+     * Checks whether the message was sent by the given UUID.
+     * @param senderId The UUID to compare with.
+     * @return True if the message has a sender and it equals the given UUID.
+     */
+    public boolean isFrom(UUID senderId) {
+        return this.senderId != null && this.senderId.equals(senderId);
+    }
+    /**
+     * Gets the most significant bits of the sender's UUID.
+     * @return The most significant bits, or 0 if the message has no sender.
+     */
+    public long getSenderMostSigBits() { return senderId == null ? 0L : senderId.getMostSignificantBits(); }
+    /**
+     * Gets the least significant bits of the sender's UUID.
+     * @return The least significant bits, or 0 if the message has no sender.
+     */
+    public long getSenderLeastSigBits() { return senderId == null ? 0L : senderId.getLeastSignificantBits(); }
+    /**
+     * Checks whether the message has a sender.
+     * @return True if a sender UUID is present.
+     */
+    public boolean hasSender() { return senderId != null; }
+    /**
+     * Gets the creation time of the message.
+     * @return The creation time in milliseconds since the epoch.
+     */
+    public long getTimestamp() { return timestamp; }
+    /**
+     * Gets the size of the content when encoded as UTF-8, computed once at construction.
+     * @return The UTF-8 length in bytes.
+     */
+    public int getUtf8Length() { return utf8Length; }
+    /**
+     * Gets the estimated number of model tokens of the content, derived from its UTF-8 length.
+     * @return The estimated token count.
+     */
+    public int getEstimatedTokens() { return TextMetrics.estimateTokens(utf8Length); }
+    /**
+     * Gets the estimated heap size of this message including its content. The sender UUID is shared and not counted.
+     * This scans the content, so callers that need it repeatedly should keep the result.
+     * @return The estimated size in bytes.
+     */
+    public int getEstimatedHeapBytes() { return OBJECT_BYTES + TextMetrics.stringHeapBytes(content); }
+    /**
+     * Encodes the content as UTF-8, e.g. for compact storage.
+     * @return The UTF-8 encoded content; empty if the message has no content.
+     */
+    public byte[] getContentUtf8() {
+        return content == null ? new byte[0] : content.getBytes(StandardCharsets.UTF_8);
+    }
 }
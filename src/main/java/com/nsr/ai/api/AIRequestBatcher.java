@@ -0,0 +1,166 @@
+package com.nsr.ai.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Gathers single AI requests made within a short window into one internal batch.
+ * A batch is flushed as soon as it reaches the maximum size, or when the window
+ * that started with its first request elapses, whichever comes first.
+ */
+final class AIRequestBatcher {
+
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Function<List<AIMessage>, List<CompletableFuture<AIResponse>>> sink;
+    private final ScheduledThreadPoolExecutor timer;
+
+    // Guarded by this
+    private List<AIMessage> messages;
+    private List<CompletableFuture<AIResponse>> futures;
+    private ScheduledFuture<?> pendingFlush;
+    private boolean closed;
+
+    /**
+     * @param windowMillis The maximum time a request waits for others to join its batch, in milliseconds.
+     * @param maxBatchSize The number of requests that triggers an immediate flush.
+     * @param sink The function that processes a batch and returns one future per message, in order.
+     */
+    AIRequestBatcher(long windowMillis, int maxBatchSize, Function<List<AIMessage>, List<CompletableFuture<AIResponse>>> sink) {
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("Batch window must be positive: " + windowMillis);
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Maximum batch size must be at least 1: " + maxBatchSize);
+        }
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.sink = sink;
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "NSR-AI Request Batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+        reset();
+    }
+
+    /**
+     * Adds a request to the current batch.
+     * @param message The AI message to send.
+     * @return A CompletableFuture that completes with the AI's response once the batch has been processed,
+     *         or null if the batcher has been shut down, in which case the caller must send the request another way.
+     */
+    CompletableFuture<AIResponse> submit(AIMessage message) {
+        CompletableFuture<AIResponse> future = new CompletableFuture<>();
+        List<AIMessage> fullMessages = null;
+        List<CompletableFuture<AIResponse>> fullFutures = null;
+        RejectedExecutionException rejected = null;
+        synchronized (this) {
+            if (closed) {
+                return null;
+            }
+            messages.add(message);
+            futures.add(future);
+            if (messages.size() >= maxBatchSize) {
+                fullMessages = messages;
+                fullFutures = futures;
+                reset();
+            } else if (pendingFlush == null) {
+                try {
+                    pendingFlush = timer.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    // Nothing would ever flush this batch; fail it instead of leaving its futures pending
+                    fullFutures = futures;
+                    reset();
+                    rejected = e;
+                }
+            }
+        }
+        if (rejected != null) {
+            for (CompletableFuture<AIResponse> pending : fullFutures) {
+                pending.completeExceptionally(rejected);
+            }
+        } else if (fullMessages != null) {
+            dispatch(fullMessages, fullFutures);
+        }
+        return future;
+    }
+
+    /**
+     * Sends the current batch immediately, if there is one.
+     */
+    void flush() {
+        List<AIMessage> batchMessages;
+        List<CompletableFuture<AIResponse>> batchFutures;
+        synchronized (this) {
+            if (messages.isEmpty()) {
+                return;
+            }
+            batchMessages = messages;
+            batchFutures = futures;
+            reset();
+        }
+        dispatch(batchMessages, batchFutures);
+    }
+
+    /**
+     * Flushes the pending batch and stops the window timer.
+     * Requests submitted afterwards are refused with a null result.
+     */
+    void shutdown() {
+        synchronized (this) {
+            closed = true;
+        }
+        flush();
+        timer.shutdown();
+    }
+
+    // Must be called while holding the lock (or from the constructor)
+    private void reset() {
+        if (pendingFlush != null) {
+            pendingFlush.cancel(false);
+            pendingFlush = null;
+        }
+        messages = new ArrayList<>(Math.min(maxBatchSize, 64));
+        futures = new ArrayList<>(Math.min(maxBatchSize, 64));
+    }
+
+    private void dispatch(List<AIMessage> batchMessages, List<CompletableFuture<AIResponse>> batchFutures) {
+        List<CompletableFuture<AIResponse>> results;
+        try {
+            results = sink.apply(batchMessages);
+        } catch (Throwable t) {
+            batchFutures.forEach(future -> future.completeExceptionally(t));
+            return;
+        }
+        if (results == null || results.size() != batchFutures.size()) {
+            IllegalStateException mismatch = new IllegalStateException("NSR-AI core plugin returned "
+                    + (results == null ? 0 : results.size()) + " responses for a batch of " + batchFutures.size()
+                    + " messages. API mismatch?");
+            batchFutures.forEach(future -> future.completeExceptionally(mismatch));
+            return;
+        }
+        for (int i = 0; i < batchFutures.size(); i++) {
+            CompletableFuture<AIResponse> target = batchFutures.get(i);
+            CompletableFuture<AIResponse> result = results.get(i);
+            if (result == null) {
+                target.completeExceptionally(new IllegalStateException("NSR-AI core plugin returned no response for a batched message"));
+                continue;
+            }
+            result.whenComplete((response, error) -> {
+                if (error != null) {
+                    target.completeExceptionally(error);
+                } else {
+                    target.complete(response);
+                }
+            });
+        }
+    }
+}
@@ -2,10 +2,14 @@ package com.nsr.ai.api;
 
 /**
  * Represents a response received from the AI.
+ * The UTF-8 size and creation time are computed once, so prompt budgeting
+ * can read them without touching the text.
  */
 public class AIResponse {
     private final String response;
     private final boolean success;
+    private final long timestamp;
+    private final int utf8Length;
 
     /**
      * Constructs a new AIResponse.
@@ -15,6 +19,8 @@ public class AIResponse {
     public AIResponse(String response, boolean success) {
         this.response = response;
         this.success = success;
+        this.timestamp = System.currentTimeMillis();
+        this.utf8Length = TextMetrics.utf8Length(response);
     }
 
     /**
@@ -27,4 +33,19 @@ public class AIResponse {
      * @return True if the response was successful, false otherwise.
      */
     public boolean isSuccess() { return success; }
+    /**
+     * Gets the time the response was created.
+     * @return The creation time in milliseconds since the epoch.
+     */
+    public long getTimestamp() { return timestamp; }
+    /**
+     * Gets the size of the response text when encoded as UTF-8, computed once at construction.
+     * @return The UTF-8 length in bytes.
+     */
+    public int getUtf8Length() { return utf8Length; }
+    /**
+     * Gets the estimated number of model tokens of the response text, derived from its UTF-8 length.
+     * @return The estimated token count.
+     */
+    public int getEstimatedTokens() { return TextMetrics.estimateTokens(utf8Length); }
 }
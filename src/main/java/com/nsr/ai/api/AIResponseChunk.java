@@ -0,0 +1,41 @@
+package com.nsr.ai.api;
+
+/**
+ * Represents one piece of a streamed AI response.
+ * Chunks are delivered in order; concatenating the text of all chunks up to and including
+ * the final one yields the complete response.
+ * This class is immutable.
+ */
+public final class AIResponseChunk {
+    private final String text;
+    private final int sequence;
+    private final boolean last;
+
+    /**
+     * Constructs a new AIResponseChunk.
+     * @param text The partial text carried by this chunk.
+     * @param sequence The zero-based position of this chunk within the response.
+     * @param last True if this is the final chunk of the response.
+     */
+    public AIResponseChunk(String text, int sequence, boolean last) {
+        this.text = text;
+        this.sequence = sequence;
+        this.last = last;
+    }
+
+    /**
+     * Gets the partial text carried by this chunk.
+     * @return The chunk text.
+     */
+    public String getText() { return text; }
+    /**
+     * Gets the zero-based position of this chunk within the response.
+     * @return The sequence number.
+     */
+    public int getSequence() { return sequence; }
+    /**
+     * Checks if this is the final chunk of the response.
+     * @return True if no further chunks follow.
+     */
+    public boolean isLast() { return last; }
+}
@@ -0,0 +1,203 @@
+package com.nsr.ai.api;
+
+import java.util.ArrayDeque;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Enforces an {@link AdmissionPolicy} in front of the chat API.
+ * Requests first pass the sender's token bucket, then either take a free concurrency slot
+ * or wait in a bounded two-level queue in which priority senders are served first.
+ * Requests that cannot be admitted are rejected immediately with a {@link RejectedExecutionException}.
+ */
+final class AdmissionController {
+
+    private static final int BUCKET_PRUNE_THRESHOLD = 1024;
+
+    private final AdmissionPolicy policy;
+    private final ConcurrentHashMap<UUID, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder overloaded = new LongAdder();
+
+    // Guarded by this
+    private final ArrayDeque<Pending<?>> priorityQueue = new ArrayDeque<>();
+    private final ArrayDeque<Pending<?>> normalQueue = new ArrayDeque<>();
+    private int inFlight;
+    private int releases;
+    private boolean draining;
+
+    AdmissionController(AdmissionPolicy policy) {
+        this.policy = policy;
+    }
+
+    AdmissionPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Admits, queues or rejects a request.
+     * @param sender The UUID of the sender, or null if the request has no sender.
+     * @param request Starts the request in the core plugin once it has been admitted.
+     * @param <T> The result type of the request.
+     * @return A CompletableFuture that completes with the request's result, or exceptionally with a
+     *         {@link RejectedExecutionException} if the request was not admitted.
+     */
+    <T> CompletableFuture<T> submit(UUID sender, Supplier<CompletableFuture<T>> request) {
+        boolean priority = policy.isPriority(sender);
+        if (sender != null && !priority && !bucketFor(sender).tryAcquire()) {
+            rateLimited.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("AI request rate limit exceeded, please wait."));
+        }
+        Pending<T> pending = new Pending<>(request);
+        Pending<?> evicted = null;
+        synchronized (this) {
+            if (inFlight < policy.getMaxConcurrentRequests()) {
+                inFlight++;
+            } else if (priorityQueue.size() + normalQueue.size() < policy.getMaxQueuedRequests()) {
+                (priority ? priorityQueue : normalQueue).addLast(pending);
+                return pending.result;
+            } else if (priority && !normalQueue.isEmpty()) {
+                // Priority senders displace the most recently queued regular request
+                evicted = normalQueue.pollLast();
+                priorityQueue.addLast(pending);
+            } else {
+                overloaded.increment();
+                return CompletableFuture.failedFuture(new RejectedExecutionException("AI is busy, please try again later."));
+            }
+        }
+        if (evicted != null) {
+            overloaded.increment();
+            evicted.result.completeExceptionally(new RejectedExecutionException("AI is busy, please try again later."));
+            return pending.result;
+        }
+        start(pending);
+        return pending.result;
+    }
+
+    AdmissionStats getStats() {
+        int currentInFlight;
+        int queueDepth;
+        synchronized (this) {
+            currentInFlight = inFlight;
+            queueDepth = priorityQueue.size() + normalQueue.size();
+        }
+        return new AdmissionStats(currentInFlight, queueDepth, admitted.sum(), rateLimited.sum(), overloaded.sum());
+    }
+
+    private <T> void start(Pending<T> pending) {
+        admitted.increment();
+        CompletableFuture<T> upstream;
+        try {
+            upstream = pending.request.get();
+            if (upstream == null) {
+                throw new IllegalStateException("NSR-AI core plugin returned no result for an admitted request");
+            }
+        } catch (RuntimeException | Error e) {
+            pending.result.completeExceptionally(e);
+            release();
+            return;
+        }
+        upstream.whenComplete((value, error) -> {
+            release();
+            if (error != null) {
+                pending.result.completeExceptionally(error);
+            } else {
+                pending.result.complete(value);
+            }
+        });
+    }
+
+    /**
+     * Hands a freed slot to the next queued request, or returns it to the pool.
+     * Requests that fail or complete synchronously release their slot from within {@link #start(Pending)};
+     * those releases are only counted here and handed out by the thread already draining, in a loop,
+     * so a deep queue never turns into a deep call stack.
+     */
+    private void release() {
+        synchronized (this) {
+            releases++;
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        while (true) {
+            Pending<?> next;
+            synchronized (this) {
+                if (releases == 0) {
+                    draining = false;
+                    return;
+                }
+                releases--;
+                next = priorityQueue.pollFirst();
+                if (next == null) {
+                    next = normalQueue.pollFirst();
+                }
+                if (next == null) {
+                    inFlight--;
+                    continue;
+                }
+            }
+            start(next);
+        }
+    }
+
+    private TokenBucket bucketFor(UUID sender) {
+        if (buckets.size() > BUCKET_PRUNE_THRESHOLD) {
+            long now = System.nanoTime();
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+        return buckets.computeIfAbsent(sender, uuid -> new TokenBucket(policy.getPlayerBurst(), policy.getPlayerRequestsPerSecond()));
+    }
+
+    private static final class Pending<T> {
+        private final Supplier<CompletableFuture<T>> request;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Pending(Supplier<CompletableFuture<T>> request) {
+            this.request = request;
+        }
+    }
+
+    private static final class TokenBucket {
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        private TokenBucket(int capacity, double tokensPerSecond) {
+            this.capacity = capacity;
+            this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        synchronized boolean tryAcquire() {
+            refill(System.nanoTime());
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            long elapsed = now - lastRefill;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+                lastRefill = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.nsr.ai.api;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Configures admission control for AI chat requests.
+ * Limits how many requests may be in flight at once, how many may wait in the queue,
+ * and how fast a single player may send requests (token bucket).
+ * Priority senders (e.g. admins and staff) bypass the per-player rate limit and are queued ahead of everyone else.
+ * This class is immutable.
+ * @see NSRaiAPI#setAdmissionPolicy(AdmissionPolicy)
+ */
+public final class AdmissionPolicy {
+
+    /**
+     * The permission that grants queue priority when no priority predicate is given.
+     */
+    public static final String PRIORITY_PERMISSION = "nsrai.priority";
+
+    private final int maxConcurrentRequests;
+    private final int maxQueuedRequests;
+    private final int playerBurst;
+    private final double playerRequestsPerSecond;
+    private final Predicate<UUID> priority;
+
+    /**
+     * Constructs a new AdmissionPolicy.
+     * @param maxConcurrentRequests The maximum number of requests in flight in the core plugin at once.
+     * @param maxQueuedRequests The maximum number of requests waiting for a free slot; further requests are rejected.
+     * @param playerBurst The number of requests a player may send in a burst (token bucket capacity).
+     * @param playerRequestsPerSecond The sustained request rate per player (token bucket refill rate).
+     * @param priority Decides whether a sender UUID may jump the queue and bypass the per-player rate limit,
+     *                 or null to grant priority to players holding {@link #PRIORITY_PERMISSION}.
+     *                 The predicate may be called from any thread.
+     * @throws IllegalArgumentException if a limit is out of range.
+     */
+    public AdmissionPolicy(int maxConcurrentRequests, int maxQueuedRequests, int playerBurst,
+                           double playerRequestsPerSecond, Predicate<UUID> priority) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("maxConcurrentRequests must be at least 1: " + maxConcurrentRequests);
+        }
+        if (maxQueuedRequests < 0) {
+            throw new IllegalArgumentException("maxQueuedRequests must not be negative: " + maxQueuedRequests);
+        }
+        if (playerBurst < 1) {
+            throw new IllegalArgumentException("playerBurst must be at least 1: " + playerBurst);
+        }
+        if (!(playerRequestsPerSecond > 0)) {
+            throw new IllegalArgumentException("playerRequestsPerSecond must be positive: " + playerRequestsPerSecond);
+        }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.maxQueuedRequests = maxQueuedRequests;
+        this.playerBurst = playerBurst;
+        this.playerRequestsPerSecond = playerRequestsPerSecond;
+        this.priority = priority == null ? byPermission(PRIORITY_PERMISSION) : priority;
+    }
+
+    /**
+     * Creates a priority predicate that grants priority to online players holding a permission.
+     * Permissions may only be checked on the main server thread. Off the main thread, the predicate answers from
+     * the result of the last check, which is refreshed on the main thread once it is older than a few seconds;
+     * a player's first request from another thread is therefore not prioritized.
+     * @param permission The permission to check, e.g. {@link #PRIORITY_PERMISSION}.
+     * @return A predicate for use with the {@link AdmissionPolicy} constructor.
+     */
+    public static Predicate<UUID> byPermission(String permission) {
+        return new PermissionPriority(permission);
+    }
+
+    /**
+     * Gets the maximum number of requests in flight at once.
+     * @return The concurrency limit.
+     */
+    public int getMaxConcurrentRequests() { return maxConcurrentRequests; }
+    /**
+     * Gets the maximum number of requests that may wait for a free slot.
+     * @return The queue capacity.
+     */
+    public int getMaxQueuedRequests() { return maxQueuedRequests; }
+    /**
+     * Gets the number of requests a player may send in a burst.
+     * @return The token bucket capacity.
+     */
+    public int getPlayerBurst() { return playerBurst; }
+    /**
+     * Gets the sustained request rate per player.
+     * @return The token bucket refill rate, in requests per second.
+     */
+    public double getPlayerRequestsPerSecond() { return playerRequestsPerSecond; }
+
+    boolean isPriority(UUID sender) {
+        return sender != null && priority.test(sender);
+    }
+
+    /**
+     * Checks a permission on the main thread and caches the result for checks from other threads.
+     */
+    private static final class PermissionPriority implements Predicate<UUID> {
+        private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(5);
+        private static final int PRUNE_THRESHOLD = 1024;
+
+        private final String permission;
+        private final ConcurrentHashMap<UUID, Entry> known = new ConcurrentHashMap<>();
+        // Players with a refresh already queued on the main thread
+        private final Set<UUID> checking = ConcurrentHashMap.newKeySet();
+
+        private PermissionPriority(String permission) {
+            this.permission = permission;
+        }
+
+        @Override
+        public boolean test(UUID uuid) {
+            if (Bukkit.isPrimaryThread()) {
+                return check(uuid);
+            }
+            Entry entry = known.get(uuid);
+            if ((entry == null || System.nanoTime() - entry.checkedAt > REFRESH_NANOS) && checking.add(uuid)) {
+                try {
+                    NSRaiAPI.mainThreadExecutor().execute(() -> {
+                        try {
+                            check(uuid);
+                        } finally {
+                            checking.remove(uuid);
+                        }
+                    });
+                } catch (IllegalStateException e) {
+                    // Core plugin not initialized; keep the last known answer
+                    checking.remove(uuid);
+                }
+            }
+            return entry != null && entry.granted;
+        }
+
+        private boolean check(UUID uuid) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player == null) {
+                known.remove(uuid);
+                return false;
+            }
+            boolean granted = player.hasPermission(permission);
+            if (known.size() > PRUNE_THRESHOLD) {
+                long now = System.nanoTime();
+                known.values().removeIf(entry -> now - entry.checkedAt > REFRESH_NANOS);
+            }
+            known.put(uuid, new Entry(granted, System.nanoTime()));
+            return granted;
+        }
+
+        private static final class Entry {
+            private final boolean granted;
+            private final long checkedAt;
+
+            private Entry(boolean granted, long checkedAt) {
+                this.granted = granted;
+                this.checkedAt = checkedAt;
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.nsr.ai.api;
+
+/**
+ * A snapshot of the admission control counters.
+ * Addons can use it to show an "AI busy" hint instead of piling up more requests.
+ * This class is immutable.
+ * @see NSRaiAPI#setAdmissionPolicy(AdmissionPolicy)
+ */
+public final class AdmissionStats {
+    private final int inFlight;
+    private final int queueDepth;
+    private final long admitted;
+    private final long rateLimited;
+    private final long overloaded;
+
+    /**
+     * Constructs a new AdmissionStats snapshot.
+     * @param inFlight The number of requests currently in flight.
+     * @param queueDepth The number of requests waiting for a free slot.
+     * @param admitted The number of requests that have been forwarded to the core plugin.
+     * @param rateLimited The number of requests rejected by a player's rate limit.
+     * @param overloaded The number of requests rejected because the queue was full.
+     */
+    public AdmissionStats(int inFlight, int queueDepth, long admitted, long rateLimited, long overloaded) {
+        this.inFlight = inFlight;
+        this.queueDepth = queueDepth;
+        this.admitted = admitted;
+        this.rateLimited = rateLimited;
+        this.overloaded = overloaded;
+    }
+
+    /**
+     * Gets the number of requests currently in flight in the core plugin.
+     * @return The in-flight request count.
+     */
+    public int getInFlight() { return inFlight; }
+    /**
+     * Gets the number of requests waiting for a free slot.
+     * @return The queue depth.
+     */
+    public int getQueueDepth() { return queueDepth; }
+    /**
+     * Gets the number of requests that have been forwarded to the core plugin.
+     * @return The admitted request count.
+     */
+    public long getAdmitted() { return admitted; }
+    /**
+     * Gets the number of requests rejected by a player's rate limit.
+     * @return The rate-limited request count.
+     */
+    public long getRateLimited() { return rateLimited; }
+    /**
+     * Gets the number of requests rejected because the queue was full.
+     * @return The overloaded request count.
+     */
+    public long getOverloaded() { return overloaded; }
+    /**
+     * Gets the total number of rejected requests.
+     * @return The sum of rate-limited and overloaded requests.
+     */
+    public long getRejected() { return rateLimited + overloaded; }
+}
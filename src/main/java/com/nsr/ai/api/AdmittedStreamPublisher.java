@@ -0,0 +1,170 @@
+package com.nsr.ai.api;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Relays a native response stream of the core plugin to a single subscriber, starting the stream only once
+ * admission control lets it through. The admission slot is held until the stream completes, fails or is
+ * cancelled, so streams count against the concurrency limit just like complete responses.
+ * Chunks requested before the stream starts are requested from it as soon as it does.
+ */
+final class AdmittedStreamPublisher implements Flow.Publisher<AIResponseChunk> {
+
+    private final Function<Supplier<CompletableFuture<Void>>, CompletableFuture<Void>> admission;
+    private final Supplier<Flow.Publisher<AIResponseChunk>> source;
+    private final Consumer<String> completion;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * @param admission Runs the given stream starter once admitted; the returned future fails if it is rejected.
+     * @param source Opens the native stream of the core plugin.
+     * @param completion Receives the full text before the last chunk is delivered, or null if not needed.
+     */
+    AdmittedStreamPublisher(Function<Supplier<CompletableFuture<Void>>, CompletableFuture<Void>> admission,
+                            Supplier<Flow.Publisher<AIResponseChunk>> source, Consumer<String> completion) {
+        this.admission = admission;
+        this.source = source;
+        this.completion = completion;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super AIResponseChunk> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Relay(null));
+            subscriber.onError(new IllegalStateException("This AI response stream already has a subscriber."));
+            return;
+        }
+        Relay relay = new Relay(subscriber);
+        subscriber.onSubscribe(relay);
+        CompletableFuture<Void> admitted;
+        try {
+            admitted = admission.apply(relay::start);
+        } catch (RuntimeException e) {
+            relay.terminate(e);
+            return;
+        }
+        admitted.whenComplete((ignored, error) -> {
+            if (error != null) {
+                relay.terminate(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            }
+        });
+    }
+
+    private final class Relay implements Flow.Subscription, Flow.Subscriber<AIResponseChunk> {
+        private final Flow.Subscriber<? super AIResponseChunk> subscriber;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        private final StringBuilder text = completion == null ? null : new StringBuilder();
+        private Flow.Subscription upstream;
+        private long pending;
+        private boolean cancelled;
+
+        private Relay(Flow.Subscriber<? super AIResponseChunk> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        private CompletableFuture<Void> start() {
+            source.get().subscribe(this);
+            return done;
+        }
+
+        @Override
+        public void request(long n) {
+            if (subscriber == null) {
+                return;
+            }
+            if (n <= 0) {
+                cancel();
+                terminate(new IllegalArgumentException("Requested chunk count must be positive: " + n));
+                return;
+            }
+            Flow.Subscription current;
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                current = upstream;
+                if (current == null) {
+                    pending = pending + n < 0 ? Long.MAX_VALUE : pending + n;
+                    return;
+                }
+            }
+            current.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            Flow.Subscription current;
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+                current = upstream;
+            }
+            if (current != null) {
+                current.cancel();
+            }
+            done.complete(null);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            long demand;
+            synchronized (this) {
+                if (upstream != null || cancelled) {
+                    subscription.cancel();
+                    return;
+                }
+                upstream = subscription;
+                demand = pending;
+                pending = 0;
+            }
+            if (demand > 0) {
+                subscription.request(demand);
+            }
+        }
+
+        @Override
+        public void onNext(AIResponseChunk chunk) {
+            if (terminated.get()) {
+                return;
+            }
+            if (text != null) {
+                text.append(chunk.getText());
+                if (chunk.isLast()) {
+                    completion.accept(text.toString());
+                }
+            }
+            subscriber.onNext(chunk);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            terminate(error);
+            done.completeExceptionally(error);
+        }
+
+        @Override
+        public void onComplete() {
+            if (terminated.compareAndSet(false, true)) {
+                subscriber.onComplete();
+            }
+            done.complete(null);
+        }
+
+        private void terminate(Throwable error) {
+            if (subscriber != null && terminated.compareAndSet(false, true)) {
+                subscriber.onError(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.nsr.ai.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A snapshot of the API's built-in instrumentation.
+ * <p>
+ * Timers are named by the path they measure:
+ * <ul>
+ *     <li>{@code dispatch.<METHOD>}: a call from the facade into the core plugin (the method handle dispatch and the core's synchronous work).</li>
+ *     <li>{@code ai.send} and {@code ai.response}: an AI request as seen by the caller, from submission until its future completes,
+ *         including coalescing, admission and batching queues.</li>
+ *     <li>{@code ai.upstream}: an AI request from the moment it is handed to the core until the core completes it.
+ *         The difference to {@code ai.response} is time spent queued in the API. Batched requests are timed as a whole
+ *         by {@code dispatch.GET_AI_RESPONSES} instead.</li>
+ *     <li>{@code listener.pet}, {@code listener.npc} and {@code listener.gui}: listener callbacks.</li>
+ * </ul>
+ * This class is immutable.
+ * @see NSRaiAPI#getMetrics()
+ */
+public final class ApiMetrics {
+    private final Map<String, TimerStats> timers;
+
+    /**
+     * Constructs a new ApiMetrics snapshot.
+     * @param timers The timers by name, in display order. Must not be modified afterwards.
+     */
+    ApiMetrics(Map<String, TimerStats> timers) {
+        this.timers = Collections.unmodifiableMap(timers);
+    }
+
+    /**
+     * Gets all timers that recorded at least one call or have calls in flight.
+     * @return An unmodifiable map of timer names to their statistics.
+     */
+    public Map<String, TimerStats> getTimers() { return timers; }
+
+    /**
+     * Gets a timer by name.
+     * @param name The timer name, e.g. {@code ai.response}.
+     * @return The timer statistics, or null if the timer recorded nothing.
+     */
+    public TimerStats getTimer(String name) { return timers.get(name); }
+
+    /**
+     * Formats the metrics as one line per timer, e.g. for the {@code /ai metrics} command.
+     * @return The formatted lines; latencies are in microseconds.
+     */
+    public List<String> format() {
+        List<String> lines = new ArrayList<>(timers.size() + 1);
+        lines.add(String.format(Locale.ROOT, "%-36s %10s %7s %6s %9s %9s %9s %9s",
+                "path", "calls", "errors", "busy", "p50", "p99", "p99.9", "max"));
+        for (TimerStats timer : timers.values()) {
+            lines.add(String.format(Locale.ROOT, "%-36s %10d %7d %6d %9d %9d %9d %9d",
+                    timer.getName(), timer.getCount(), timer.getErrors(), timer.getInFlight(),
+                    timer.getPercentileMicros(50), timer.getPercentileMicros(99), timer.getPercentileMicros(99.9),
+                    timer.getMaxMicros()));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,82 @@
+package com.nsr.ai.api;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * An immutable snapshot of the features supported by the running NSR-AI core plugin.
+ * The snapshot is computed once when the core plugin registers with the API, so checking
+ * a feature is a constant-time lookup that never throws.
+ *
+ * <pre>{@code
+ * if (NSRaiAPI.capabilities().supports(Feature.PETS)) {
+ *     NSRaiAPI.registerPetListener(myListener);
+ * }
+ * }</pre>
+ */
+public final class Capabilities {
+
+    /**
+     * The capabilities reported while the core plugin is not initialized: no features are supported.
+     */
+    public static final Capabilities NONE = new Capabilities(EnumSet.noneOf(Feature.class));
+
+    private final Set<Feature> supported;
+
+    private Capabilities(EnumSet<Feature> supported) {
+        this.supported = Collections.unmodifiableSet(supported);
+    }
+
+    /**
+     * Probes the core plugin behind a dispatch table.
+     * A feature is supported when the core provides every method it needs. If the core also reports
+     * which of its services are currently available, features it does not list are excluded.
+     * @param dispatch The bound dispatch table of the core plugin.
+     * @param availableFeatures The feature names reported by the core, or null if the core does not report them.
+     * @return The computed capabilities.
+     */
+    static Capabilities probe(InternalDispatch dispatch, Collection<?> availableFeatures) {
+        EnumSet<Feature> supported = EnumSet.noneOf(Feature.class);
+        for (Feature feature : Feature.values()) {
+            boolean bound = true;
+            for (InternalMethod method : feature.getMethods()) {
+                bound &= dispatch.isBound(method);
+            }
+            if (bound) {
+                supported.add(feature);
+            }
+        }
+        if (availableFeatures != null) {
+            EnumSet<Feature> available = EnumSet.noneOf(Feature.class);
+            for (Object name : availableFeatures) {
+                for (Feature feature : Feature.values()) {
+                    if (feature.name().equals(String.valueOf(name).toUpperCase(Locale.ROOT))) {
+                        available.add(feature);
+                    }
+                }
+            }
+            supported.retainAll(available);
+        }
+        return new Capabilities(supported);
+    }
+
+    /**
+     * Checks whether a feature is supported by the running core plugin.
+     * @param feature The feature to check.
+     * @return true if the feature is supported, false otherwise.
+     */
+    public boolean supports(Feature feature) {
+        return supported.contains(feature);
+    }
+
+    /**
+     * Gets all features supported by the running core plugin.
+     * @return An unmodifiable set of supported features.
+     */
+    public Set<Feature> getSupportedFeatures() {
+        return supported;
+    }
+}
@@ -0,0 +1,40 @@
+package com.nsr.ai.api;
+
+/**
+ * A snapshot of the request coalescing counters.
+ * This class is immutable.
+ * @see NSRaiAPI#enableRequestCoalescing()
+ */
+public final class CoalescingStats {
+    private final long upstreamRequests;
+    private final long collapsedRequests;
+    private final int inFlightRequests;
+
+    /**
+     * Constructs a new CoalescingStats snapshot.
+     * @param upstreamRequests The number of requests forwarded to the core plugin.
+     * @param collapsedRequests The number of requests that joined an identical in-flight request.
+     * @param inFlightRequests The number of distinct requests currently in flight.
+     */
+    public CoalescingStats(long upstreamRequests, long collapsedRequests, int inFlightRequests) {
+        this.upstreamRequests = upstreamRequests;
+        this.collapsedRequests = collapsedRequests;
+        this.inFlightRequests = inFlightRequests;
+    }
+
+    /**
+     * Gets the number of requests that were forwarded to the core plugin.
+     * @return The upstream request count.
+     */
+    public long getUpstreamRequests() { return upstreamRequests; }
+    /**
+     * Gets the number of requests that were collapsed into an identical in-flight request.
+     * @return The collapsed request count.
+     */
+    public long getCollapsedRequests() { return collapsedRequests; }
+    /**
+     * Gets the number of distinct requests currently in flight.
+     * @return The in-flight request count.
+     */
+    public int getInFlightRequests() { return inFlightRequests; }
+}
@@ -0,0 +1,319 @@
+package com.nsr.ai.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * A bounded, per-player conversation history store.
+ * Each player's history is a ring buffer capped by message count and by estimated size in bytes;
+ * once a cap is reached, the oldest messages are evicted. Histories are keyed by player UUID,
+ * so they survive reconnects without holding on to {@link org.bukkit.entity.Player} instances.
+ * <p>
+ * If a {@link ConversationLog} is attached, every message is also written to it, a player's history is
+ * loaded from it the first time that player's history is accessed, and the log is compacted in the background
+ * after {@link #clear(UUID)}, {@link #replace(UUID, List)} or once it holds many evicted messages.
+ * All methods are thread-safe.
+ */
+public final class ConversationHistoryStore {
+
+    // Compact a log once it holds this many more records than the history retains
+    private static final int COMPACTION_SLACK = 64;
+
+    private final ConcurrentHashMap<UUID, History> histories = new ConcurrentHashMap<>();
+    private final ConversationLog log;
+    private volatile int maxMessages;
+    private volatile long maxBytes;
+
+    /**
+     * Constructs a new in-memory ConversationHistoryStore.
+     * @param maxMessages The maximum number of messages retained per player.
+     * @param maxBytes The maximum estimated size of the messages retained per player, in bytes.
+     * @throws IllegalArgumentException if a limit is less than 1.
+     */
+    public ConversationHistoryStore(int maxMessages, long maxBytes) {
+        this(maxMessages, maxBytes, null);
+    }
+
+    /**
+     * Constructs a new ConversationHistoryStore persisted to a conversation log.
+     * @param maxMessages The maximum number of messages retained per player.
+     * @param maxBytes The maximum estimated size of the messages retained per player, in bytes.
+     * @param log The log to persist histories to, or null to keep them in memory only.
+     * @throws IllegalArgumentException if a limit is less than 1.
+     */
+    public ConversationHistoryStore(int maxMessages, long maxBytes, ConversationLog log) {
+        setLimits(maxMessages, maxBytes);
+        this.log = log;
+    }
+
+    /**
+     * Changes the per-player limits. Histories exceeding the new limits are trimmed on their next append.
+     * @param maxMessages The maximum number of messages retained per player.
+     * @param maxBytes The maximum estimated size of the messages retained per player, in bytes.
+     * @throws IllegalArgumentException if a limit is less than 1.
+     */
+    public void setLimits(int maxMessages, long maxBytes) {
+        if (maxMessages < 1) {
+            throw new IllegalArgumentException("maxMessages must be at least 1: " + maxMessages);
+        }
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes must be at least 1: " + maxBytes);
+        }
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Appends a message to a player's history, evicting the oldest messages if a limit is exceeded.
+     * The newest message is always retained, even if it alone exceeds the byte limit.
+     * @param playerId The UUID of the player.
+     * @param message The message to append.
+     */
+    public void append(UUID playerId, AIMessage message) {
+        History history = historyOf(playerId);
+        if (log == null) {
+            history.append(message, maxMessages, maxBytes);
+            return;
+        }
+        java.util.concurrent.CompletableFuture<Void> compaction = null;
+        // Appends to the same player wait, so the snapshot covers exactly the messages the log has when it is taken
+        synchronized (history) {
+            history.append(message, maxMessages, maxBytes);
+            log.append(playerId, message);
+            if (log.recordCount(playerId) > history.size() + COMPACTION_SLACK && !log.isCompactionPending(playerId)) {
+                compaction = log.compact(playerId, history.page(0, Integer.MAX_VALUE));
+            }
+        }
+        if (compaction != null) {
+            compaction.whenComplete((ignored, error) -> {
+                if (error != null) {
+                    NSRaiAPI.logger().log(Level.WARNING, "Failed to compact the conversation log of " + playerId, error);
+                }
+            });
+        }
+    }
+
+    /**
+     * Replaces a player's history, e.g. with a summary after summarization.
+     * The attached log, if any, is rewritten in the background.
+     * @param playerId The UUID of the player.
+     * @param messages The new history, oldest first. The limits apply as if the messages were appended in order.
+     * @return A CompletableFuture that completes once the log has been rewritten.
+     */
+    public java.util.concurrent.CompletableFuture<Void> replace(UUID playerId, List<AIMessage> messages) {
+        History history = new History();
+        for (AIMessage message : messages) {
+            history.append(message, maxMessages, maxBytes);
+        }
+        histories.put(playerId, history);
+        return log == null
+                ? java.util.concurrent.CompletableFuture.completedFuture(null)
+                : log.compact(playerId, history.page(0, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Reads a window of a player's history, oldest message first.
+     * @param playerId The UUID of the player.
+     * @param offset The index of the first message to return, where 0 is the oldest retained message.
+     * @param limit The maximum number of messages to return.
+     * @return The requested messages; empty if the player has no history or the offset is past its end.
+     * @throws IllegalArgumentException if offset or limit is negative.
+     */
+    public List<AIMessage> getPage(UUID playerId, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset and limit must not be negative: " + offset + ", " + limit);
+        }
+        History history = lookup(playerId);
+        return history == null ? Collections.emptyList() : history.page(offset, limit);
+    }
+
+    /**
+     * Reads the most recent messages of a player's history, oldest of them first.
+     * @param playerId The UUID of the player.
+     * @param count The maximum number of messages to return.
+     * @return The most recent messages.
+     */
+    public List<AIMessage> getLatest(UUID playerId, int count) {
+        History history = lookup(playerId);
+        if (history == null || count <= 0) {
+            return Collections.emptyList();
+        }
+        return history.latest(count);
+    }
+
+    /**
+     * Gets all retained messages of a player, oldest first.
+     * @param playerId The UUID of the player.
+     * @return A copy of the player's history.
+     */
+    public List<AIMessage> getAll(UUID playerId) {
+        return getPage(playerId, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the number of retained messages of a player.
+     * @param playerId The UUID of the player.
+     * @return The message count.
+     */
+    public int size(UUID playerId) {
+        History history = lookup(playerId);
+        return history == null ? 0 : history.size();
+    }
+
+    /**
+     * Removes a player's history. The attached log, if any, is cleared in the background.
+     * @param playerId The UUID of the player.
+     * @return A CompletableFuture that completes once the log has been cleared.
+     */
+    public java.util.concurrent.CompletableFuture<Void> clear(UUID playerId) {
+        // Clear the log first: from then on it no longer returns the old messages, even before the rewrite has run
+        java.util.concurrent.CompletableFuture<Void> cleared = log == null
+                ? java.util.concurrent.CompletableFuture.completedFuture(null)
+                : log.clear(playerId);
+        histories.remove(playerId);
+        return cleared;
+    }
+
+    /**
+     * Drops a player's history from memory, e.g. when the player leaves.
+     * With an attached log, the history is loaded again on next access; without one, it is lost.
+     * @param playerId The UUID of the player.
+     */
+    public void unload(UUID playerId) {
+        histories.remove(playerId);
+        if (log != null) {
+            log.release(playerId);
+        }
+    }
+
+    // Returns the player's history, loading it from the log on first access; null if there is none.
+    // The log is read outside the map, so lookups of other players never wait for the file IO.
+    private History lookup(UUID playerId) {
+        History history = histories.get(playerId);
+        if (history != null || log == null) {
+            return history;
+        }
+        List<AIMessage> messages = log.load(playerId);
+        if (messages.isEmpty()) {
+            return null;
+        }
+        History loaded = new History();
+        for (AIMessage message : messages) {
+            loaded.append(message, maxMessages, maxBytes);
+        }
+        History raced = histories.putIfAbsent(playerId, loaded);
+        return raced == null ? loaded : raced;
+    }
+
+    private History historyOf(UUID playerId) {
+        History history = lookup(playerId);
+        return history != null ? history : histories.computeIfAbsent(playerId, id -> new History());
+    }
+
+    /**
+     * Gets memory statistics for a player's history.
+     * @param playerId The UUID of the player.
+     * @return The statistics; all zero if the player has no history.
+     */
+    public ConversationStats getStats(UUID playerId) {
+        History history = lookup(playerId);
+        return history == null ? new ConversationStats(0, 0, 0) : history.stats();
+    }
+
+    /**
+     * Gets the estimated size of all retained histories.
+     * @return The estimated size in bytes.
+     */
+    public long getTotalBytes() {
+        long total = 0;
+        for (History history : histories.values()) {
+            total += history.bytes();
+        }
+        return total;
+    }
+
+    /**
+     * Estimates the heap size of a message, as reported by {@link AIMessage#getEstimatedHeapBytes()}.
+     * @param message The message.
+     * @return The estimated size in bytes.
+     */
+    public static long estimateBytes(AIMessage message) {
+        return message.getEstimatedHeapBytes();
+    }
+
+    private static final class History {
+        private AIMessage[] ring = new AIMessage[8];
+        private int head;
+        private int size;
+        private long bytes;
+        private long tokens;
+        private long evicted;
+
+        synchronized void append(AIMessage message, int maxMessages, long maxBytes) {
+            if (size == ring.length && ring.length < maxMessages) {
+                grow(Math.min(maxMessages, ring.length * 2));
+            }
+            if (size == ring.length) {
+                evictOldest();
+            }
+            ring[(head + size) % ring.length] = message;
+            size++;
+            bytes += estimateBytes(message);
+            tokens += message.getEstimatedTokens();
+            while (size > 1 && (size > maxMessages || bytes > maxBytes)) {
+                evictOldest();
+            }
+        }
+
+        synchronized List<AIMessage> page(int offset, int limit) {
+            if (offset >= size) {
+                return Collections.emptyList();
+            }
+            int count = Math.min(limit, size - offset);
+            List<AIMessage> page = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                page.add(ring[(head + offset + i) % ring.length]);
+            }
+            return page;
+        }
+
+        synchronized List<AIMessage> latest(int count) {
+            int start = Math.max(0, size - count);
+            return page(start, size - start);
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long bytes() {
+            return bytes;
+        }
+
+        synchronized ConversationStats stats() {
+            return new ConversationStats(size, bytes, evicted, tokens);
+        }
+
+        private void evictOldest() {
+            bytes -= estimateBytes(ring[head]);
+            tokens -= ring[head].getEstimatedTokens();
+            ring[head] = null;
+            head = (head + 1) % ring.length;
+            size--;
+            evicted++;
+        }
+
+        private void grow(int capacity) {
+            AIMessage[] grown = new AIMessage[capacity];
+            for (int i = 0; i < size; i++) {
+                grown[i] = ring[(head + i) % ring.length];
+            }
+            ring = grown;
+            head = 0;
+        }
+    }
+}
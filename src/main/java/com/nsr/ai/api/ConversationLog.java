@@ -0,0 +1,417 @@
+package com.nsr.ai.api;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * Durable, append-only storage for conversation history, one memory-mapped log file per player.
+ * <p>
+ * Each record holds one {@link AIMessage} (UTF-8 content, sender UUID bits and timestamp) protected by a CRC32 checksum.
+ * A player's file is only opened and mapped when their history is first read or written, so enabling the plugin
+ * does not read any history files. When a file is opened, records are verified in order and the log is truncated
+ * at the first torn or corrupt record, recovering everything written before it.
+ * <p>
+ * Rewrites (after a clear, a summarization or when the log holds many evicted messages) happen in the background:
+ * the retained messages are written to a temporary file that atomically replaces the log. While a rewrite is pending,
+ * {@link #load(UUID)} already returns the retained messages plus anything appended since, never the records being replaced.
+ * The file is unmapped before it is truncated or replaced, which some platforms (notably Windows) require.
+ * All methods are thread-safe.
+ */
+public final class ConversationLog implements AutoCloseable {
+
+    private static final String EXTENSION = ".log";
+    // record length (4) + crc (4) + timestamp (8) + flags (1) + sender bits (16)
+    private static final int HEADER_BYTES = 33;
+    private static final int INITIAL_MAPPING_BYTES = 16 * 1024;
+
+    // sun.misc.Unsafe#invokeCleaner, used to unmap a mapping before its file is truncated or replaced; null if unavailable
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> type = Class.forName("sun.misc.Unsafe");
+            Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Mappings are then released by the garbage collector
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private final Path directory;
+    private final ConcurrentHashMap<UUID, Segment> segments = new ConcurrentHashMap<>();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "NSR-AI History Compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructs a new ConversationLog storing its files in the given directory.
+     * @param directory The directory for the per-player log files; created if it does not exist.
+     * @throws UncheckedIOException if the directory cannot be created.
+     */
+    public ConversationLog(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create conversation log directory " + directory, e);
+        }
+    }
+
+    /**
+     * Appends a message to a player's log.
+     * @param playerId The UUID of the player.
+     * @param message The message to append.
+     * @throws UncheckedIOException if the log cannot be written.
+     */
+    public void append(UUID playerId, AIMessage message) {
+        segment(playerId).append(message);
+    }
+
+    /**
+     * Reads all messages in a player's log, oldest first.
+     * If a rewrite is pending, the messages it retains are returned together with the messages appended after it was requested.
+     * @param playerId The UUID of the player.
+     * @return The recovered messages; empty if the player has no log.
+     * @throws UncheckedIOException if the log cannot be read.
+     */
+    public List<AIMessage> load(UUID playerId) {
+        if (!segments.containsKey(playerId) && !Files.exists(fileOf(playerId))) {
+            return Collections.emptyList();
+        }
+        return segment(playerId).readRetained();
+    }
+
+    /**
+     * Gets the number of records in a player's log, including messages no longer retained in memory.
+     * @param playerId The UUID of the player.
+     * @return The record count; 0 if the player's log is not open.
+     */
+    public int recordCount(UUID playerId) {
+        Segment segment = segments.get(playerId);
+        return segment == null ? 0 : segment.recordCount();
+    }
+
+    /**
+     * Replaces a player's log with the given messages in the background, e.g. after a summarization.
+     * Messages appended after this call are kept after the retained ones.
+     * @param playerId The UUID of the player.
+     * @param retained The messages to keep in place of the log's current records, oldest first.
+     * @return A CompletableFuture that completes once the log has been rewritten.
+     */
+    public CompletableFuture<Void> compact(UUID playerId, List<AIMessage> retained) {
+        List<AIMessage> copy = Collections.unmodifiableList(new ArrayList<>(retained));
+        Segment segment = segment(playerId);
+        // Messages appended after this point are carried over by the rewrite
+        long covered = segment.beginCompaction(copy);
+        return CompletableFuture.runAsync(() -> segment(playerId).rewrite(copy, covered), compactor);
+    }
+
+    /**
+     * Checks whether a rewrite of a player's log is queued or running.
+     * @param playerId The UUID of the player.
+     * @return true if a compaction is pending.
+     */
+    public boolean isCompactionPending(UUID playerId) {
+        Segment segment = segments.get(playerId);
+        return segment != null && segment.isCompactionPending();
+    }
+
+    /**
+     * Removes all messages of a player's log in the background.
+     * The cleared messages are no longer returned by {@link #load(UUID)} once this method returns.
+     * @param playerId The UUID of the player.
+     * @return A CompletableFuture that completes once the log has been cleared.
+     */
+    public CompletableFuture<Void> clear(UUID playerId) {
+        return compact(playerId, Collections.emptyList());
+    }
+
+    /**
+     * Flushes and unmaps a player's log, e.g. when the player leaves. It is mapped again on next use.
+     * @param playerId The UUID of the player.
+     */
+    public void release(UUID playerId) {
+        Segment segment = segments.get(playerId);
+        if (segment != null && segment.isCompactionPending() && !compactor.isShutdown()) {
+            // Compactions run in order on a single thread, so release once the pending ones are done
+            compactor.execute(() -> release(playerId));
+            return;
+        }
+        segment = segments.remove(playerId);
+        if (segment != null) {
+            segment.close();
+        }
+    }
+
+    /**
+     * Finishes pending compactions, then flushes and unmaps all logs.
+     */
+    @Override
+    public void close() {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(10, java.util.concurrent.TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (UUID playerId : new ArrayList<>(segments.keySet())) {
+            release(playerId);
+        }
+    }
+
+    private Segment segment(UUID playerId) {
+        return segments.computeIfAbsent(playerId, id -> new Segment(fileOf(id)));
+    }
+
+    private Path fileOf(UUID playerId) {
+        return directory.resolve(playerId + EXTENSION);
+    }
+
+    private static final class Segment {
+        private final Path file;
+        private FileChannel channel;
+        private MappedByteBuffer mapping;
+        private int position;
+        private int records;
+        // Total number of appends since the segment was opened; unlike records, not reset by a rewrite
+        private long appended;
+        private int pendingCompactions;
+        // The messages retained by the most recently requested rewrite and the append count it covers
+        private List<AIMessage> latestRetained;
+        private long latestCovered;
+
+        private Segment(Path file) {
+            this.file = file;
+            try {
+                open();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open conversation log " + file, e);
+            }
+        }
+
+        synchronized void append(AIMessage message) {
+            try {
+                ensureOpen();
+                write(message);
+                appended++;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot append to conversation log " + file, e);
+            }
+        }
+
+        synchronized List<AIMessage> readAll() {
+            try {
+                ensureOpen();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open conversation log " + file, e);
+            }
+            List<AIMessage> messages = new ArrayList<>(records);
+            int offset = 0;
+            while (offset < position) {
+                int length = mapping.getInt(offset) - HEADER_BYTES;
+                long timestamp = mapping.getLong(offset + 8);
+                boolean hasSender = mapping.get(offset + 16) != 0;
+                long most = mapping.getLong(offset + 17);
+                long least = mapping.getLong(offset + 25);
+                byte[] content = new byte[length];
+                mapping.get(offset + HEADER_BYTES, content);
+                messages.add(hasSender
+                        ? AIMessage.fromUtf8(content, most, least, timestamp)
+                        : new AIMessage(new String(content, java.nio.charset.StandardCharsets.UTF_8), null, timestamp));
+                offset += HEADER_BYTES + length;
+            }
+            return messages;
+        }
+
+        // Reads the log as it will be once the pending rewrites are done
+        synchronized List<AIMessage> readRetained() {
+            List<AIMessage> current = readAll();
+            if (latestRetained == null) {
+                return current;
+            }
+            int newer = (int) Math.max(0, Math.min(current.size(), appended - latestCovered));
+            List<AIMessage> messages = new ArrayList<>(latestRetained.size() + newer);
+            messages.addAll(latestRetained);
+            messages.addAll(current.subList(current.size() - newer, current.size()));
+            return messages;
+        }
+
+        synchronized int recordCount() {
+            return records;
+        }
+
+        synchronized long beginCompaction(List<AIMessage> retained) {
+            pendingCompactions++;
+            latestRetained = retained;
+            latestCovered = appended;
+            return appended;
+        }
+
+        synchronized boolean isCompactionPending() {
+            return pendingCompactions > 0;
+        }
+
+        synchronized void rewrite(List<AIMessage> retained, long covered) {
+            Path temporary = file.resolveSibling(file.getFileName() + ".compact");
+            if (--pendingCompactions == 0) {
+                latestRetained = null;
+            }
+            try {
+                List<AIMessage> current = readAll();
+                int newer = (int) Math.max(0, Math.min(current.size(), appended - covered));
+                List<AIMessage> kept = new ArrayList<>(retained.size() + newer);
+                kept.addAll(retained);
+                kept.addAll(current.subList(current.size() - newer, current.size()));
+                close();
+                try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    for (AIMessage message : kept) {
+                        out.write(ByteBuffer.wrap(encode(message)));
+                    }
+                    out.force(true);
+                }
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                open();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot compact conversation log " + file, e);
+            }
+        }
+
+        synchronized void close() {
+            if (channel == null) {
+                return;
+            }
+            try {
+                mapping.force();
+                // The file cannot be truncated or replaced while it is mapped on every platform
+                boolean unmapped = unmap(mapping);
+                mapping = null;
+                if (unmapped) {
+                    // Drop the zero-filled tail of the mapping so the file only holds complete records;
+                    // if the mapping could not be released, the tail stays and is skipped when the log is read
+                    channel.truncate(position);
+                }
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot close conversation log " + file, e);
+            } finally {
+                channel = null;
+                mapping = null;
+            }
+        }
+
+        private void ensureOpen() throws IOException {
+            if (channel == null) {
+                open();
+            }
+        }
+
+        // Maps the file and recovers all records up to the first torn or corrupt one
+        private void open() throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE - INITIAL_MAPPING_BYTES) {
+                throw new IOException("Conversation log too large: " + size + " bytes");
+            }
+            mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(INITIAL_MAPPING_BYTES, size));
+            position = 0;
+            records = 0;
+            CRC32 crc = new CRC32();
+            while (position + HEADER_BYTES <= size) {
+                int length = mapping.getInt(position) - HEADER_BYTES;
+                if (length < 0 || position + HEADER_BYTES + (long) length > size) {
+                    break;
+                }
+                crc.reset();
+                crc.update(mapping.slice(position + 8, HEADER_BYTES - 8 + length));
+                if ((int) crc.getValue() != mapping.getInt(position + 4)) {
+                    break;
+                }
+                position += HEADER_BYTES + length;
+                records++;
+            }
+            // Zero out anything after the last valid record so a torn write is never read back
+            for (int i = position; i < Math.min(size, mapping.capacity()); i++) {
+                mapping.put(i, (byte) 0);
+            }
+        }
+
+        private void write(AIMessage message) throws IOException {
+            byte[] record = encode(message);
+            if (position + record.length > mapping.capacity()) {
+                long capacity = Math.max((long) mapping.capacity() * 2, (long) position + record.length);
+                if (capacity > Integer.MAX_VALUE) {
+                    throw new IOException("Conversation log too large: " + capacity + " bytes");
+                }
+                mapping.force();
+                MappedByteBuffer previous = mapping;
+                mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+                unmap(previous);
+            }
+            mapping.put(position, record);
+            position += record.length;
+            records++;
+        }
+
+        private static byte[] encode(AIMessage message) {
+            byte[] content = message.getContentUtf8();
+            ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + content.length);
+            // The length covers the whole record, so it is never zero and a zero marks the end of the log
+            record.putInt(record.capacity());
+            record.putInt(0);
+            record.putLong(message.getTimestamp());
+            record.put((byte) (message.hasSender() ? 1 : 0));
+            record.putLong(message.getSenderMostSigBits());
+            record.putLong(message.getSenderLeastSigBits());
+            record.put(content);
+            CRC32 crc = new CRC32();
+            crc.update(record.array(), 8, record.capacity() - 8);
+            record.putInt(4, (int) crc.getValue());
+            return record.array();
+        }
+    }
+
+    /**
+     * Releases a mapping immediately instead of when it is garbage collected.
+     * The buffer must not be accessed afterwards.
+     * @return true if the mapping was released.
+     */
+    private static boolean unmap(MappedByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return false;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.nsr.ai.api;
+
+/**
+ * A snapshot of the memory used by one player's conversation history.
+ * This class is immutable.
+ */
+public final class ConversationStats {
+    private final int messageCount;
+    private final long estimatedBytes;
+    private final long evictedMessages;
+    private final long estimatedTokens;
+
+    /**
+     * Constructs a new ConversationStats snapshot without a token estimate.
+     * @param messageCount The number of retained messages.
+     * @param estimatedBytes The estimated heap size of the retained messages, in bytes.
+     * @param evictedMessages The number of messages dropped because a history limit was reached.
+     */
+    public ConversationStats(int messageCount, long estimatedBytes, long evictedMessages) {
+        this(messageCount, estimatedBytes, evictedMessages, 0);
+    }
+
+    /**
+     * Constructs a new ConversationStats snapshot.
+     * @param messageCount The number of retained messages.
+     * @param estimatedBytes The estimated heap size of the retained messages, in bytes.
+     * @param evictedMessages The number of messages dropped because a history limit was reached.
+     * @param estimatedTokens The estimated number of model tokens of the retained messages.
+     */
+    public ConversationStats(int messageCount, long estimatedBytes, long evictedMessages, long estimatedTokens) {
+        this.messageCount = messageCount;
+        this.estimatedBytes = estimatedBytes;
+        this.evictedMessages = evictedMessages;
+        this.estimatedTokens = estimatedTokens;
+    }
+
+    /**
+     * Gets the number of retained messages.
+     * @return The message count.
+     */
+    public int getMessageCount() { return messageCount; }
+    /**
+     * Gets the estimated heap size of the retained messages.
+     * @return The estimated size in bytes.
+     */
+    public long getEstimatedBytes() { return estimatedBytes; }
+    /**
+     * Gets the number of messages dropped because a history limit was reached.
+     * @return The evicted message count.
+     */
+    public long getEvictedMessages() { return evictedMessages; }
+    /**
+     * Gets the estimated number of model tokens of the retained messages, i.e. their share of the prompt.
+     * @return The estimated token count.
+     */
+    public long getEstimatedTokens() { return estimatedTokens; }
+}
@@ -0,0 +1,15 @@
+package com.nsr.ai.api;
+
+import java.util.UUID;
+
+/**
+ * Listener interface for cooldown expiry.
+ * @see NSRaiAPI#registerCooldownListener(CooldownListener)
+ */
+public interface CooldownListener {
+    /**
+     * Called when a player's cooldown has expired, on the cooldown timer thread (never the main server thread).
+     * @param playerId The UUID of the player whose cooldown expired.
+     */
+    void onCooldownExpired(UUID playerId);
+}
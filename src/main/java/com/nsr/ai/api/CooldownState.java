@@ -0,0 +1,32 @@
+package com.nsr.ai.api;
+
+/**
+ * A player's cooldown at a specific moment.
+ * This class is immutable.
+ * @see NSRaiAPI#getCooldownState(org.bukkit.entity.Player)
+ */
+public final class CooldownState {
+    /** The state of a player who is not on cooldown. */
+    public static final CooldownState INACTIVE = new CooldownState(0);
+
+    private final long remainingMillis;
+
+    /**
+     * Constructs a new CooldownState.
+     * @param remainingMillis The remaining cooldown time in milliseconds, or 0 if not on cooldown.
+     */
+    public CooldownState(long remainingMillis) {
+        this.remainingMillis = Math.max(0, remainingMillis);
+    }
+
+    /**
+     * Checks whether the player is on cooldown.
+     * @return true if the player is on cooldown, false otherwise.
+     */
+    public boolean isActive() { return remainingMillis > 0; }
+    /**
+     * Gets the remaining cooldown time.
+     * @return The remaining cooldown time in milliseconds, or 0 if not on cooldown.
+     */
+    public long getRemainingMillis() { return remainingMillis; }
+}
@@ -0,0 +1,258 @@
+package com.nsr.ai.api;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Tracks per-player cooldowns on a hashed timer wheel and notifies listeners when they expire.
+ * <p>
+ * The wheel has a fixed number of buckets, each covering one tick. Starting a cooldown links it into the bucket of its
+ * deadline and cancelling unlinks it, both in constant time. Once per tick, a background thread visits only the
+ * current bucket and expires the cooldowns due in it; cooldowns longer than one turn of the wheel stay in their bucket
+ * until their turn comes. Querying a cooldown is a map lookup, so addons can drop per-tick polling entirely.
+ * <p>
+ * The tracker also remembers players known not to be on cooldown, so their queries are answered without asking the core.
+ * Callers that mirror another source can bound how old a recorded state may be with {@link #getState(UUID, long)}.
+ * All methods are thread-safe.
+ */
+public final class CooldownTracker implements AutoCloseable {
+
+    // Idle entries are pruned once the tracker knows this many players
+    private static final int PRUNE_THRESHOLD = 4096;
+
+    private final long tickMillis;
+    private final Node[] buckets;
+    private final int mask;
+    private final long origin = System.nanoTime();
+    private final CopyOnWriteArrayList<CooldownListener> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "NSR-AI Cooldown Timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by this
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private long currentTick;
+
+    /**
+     * Constructs a new CooldownTracker.
+     * @param tickMillis The resolution of the wheel in milliseconds; expiry is reported up to one tick late.
+     * @param wheelSize The number of buckets; rounded up to a power of two.
+     * @throws IllegalArgumentException if {@code tickMillis} or {@code wheelSize} is less than 1.
+     */
+    public CooldownTracker(long tickMillis, int wheelSize) {
+        if (tickMillis < 1 || wheelSize < 1) {
+            throw new IllegalArgumentException("tickMillis and wheelSize must be at least 1: " + tickMillis + ", " + wheelSize);
+        }
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.buckets = new Node[size];
+        this.mask = size - 1;
+        timer.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts (or restarts) a player's cooldown.
+     * @param playerId The UUID of the player.
+     * @param durationMillis The cooldown duration in milliseconds; 0 records that the player is not on cooldown.
+     */
+    public void start(UUID playerId, long durationMillis) {
+        long now = now();
+        long deadline = now + Math.max(0, durationMillis);
+        synchronized (this) {
+            Node node = nodes.get(playerId);
+            if (node == null) {
+                node = new Node(playerId);
+                nodes.put(playerId, node);
+            } else {
+                unlink(node);
+            }
+            node.deadline = deadline;
+            node.recordedAt = now;
+            if (durationMillis > 0) {
+                // Round up so a cooldown never expires before its deadline
+                long tick = Math.max(currentTick + 1, (deadline + tickMillis - 1) / tickMillis);
+                node.tick = tick;
+                link(node, (int) (tick & mask));
+            }
+            if (nodes.size() > PRUNE_THRESHOLD) {
+                Node started = node;
+                nodes.values().removeIf(candidate -> candidate.bucket < 0 && candidate != started);
+            }
+        }
+    }
+
+    /**
+     * Ends a player's cooldown early, without notifying listeners.
+     * @param playerId The UUID of the player.
+     */
+    public synchronized void cancel(UUID playerId) {
+        Node node = nodes.get(playerId);
+        if (node != null) {
+            unlink(node);
+            node.deadline = now();
+            node.recordedAt = node.deadline;
+        }
+    }
+
+    /**
+     * Forgets everything known about a player, e.g. when they leave the server.
+     * @param playerId The UUID of the player.
+     */
+    public synchronized void forget(UUID playerId) {
+        Node node = nodes.remove(playerId);
+        if (node != null) {
+            unlink(node);
+        }
+    }
+
+    /**
+     * Forgets everything known about all players, without notifying listeners.
+     */
+    public synchronized void clear() {
+        for (Node node : nodes.values()) {
+            unlink(node);
+        }
+        nodes.clear();
+    }
+
+    /**
+     * Gets a player's cooldown, including the remaining time, in a single lookup.
+     * @param playerId The UUID of the player.
+     * @return An Optional containing the cooldown state, or empty if the tracker knows nothing about the player.
+     */
+    public Optional<CooldownState> getState(UUID playerId) {
+        return getState(playerId, Long.MAX_VALUE);
+    }
+
+    /**
+     * Gets a player's cooldown, unless it was recorded too long ago to be trusted.
+     * @param playerId The UUID of the player.
+     * @param maxAgeMillis How long ago the cooldown may have been started or cancelled, in milliseconds.
+     * @return An Optional containing the cooldown state, or empty if the tracker knows nothing about the player
+     *         or its knowledge is older than {@code maxAgeMillis}.
+     */
+    public Optional<CooldownState> getState(UUID playerId, long maxAgeMillis) {
+        long deadline;
+        long now = now();
+        synchronized (this) {
+            Node node = nodes.get(playerId);
+            if (node == null || now - node.recordedAt > maxAgeMillis) {
+                return Optional.empty();
+            }
+            deadline = node.deadline;
+        }
+        long remaining = deadline - now;
+        return Optional.of(remaining > 0 ? new CooldownState(remaining) : CooldownState.INACTIVE);
+    }
+
+    /**
+     * Registers a listener notified whenever a cooldown expires.
+     * @param listener The CooldownListener instance to register.
+     */
+    public void addListener(CooldownListener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    /**
+     * Unregisters a cooldown listener.
+     * @param listener The CooldownListener instance to unregister.
+     */
+    public void removeListener(CooldownListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Stops the timer thread. Pending cooldowns no longer expire.
+     */
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+
+    private long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - origin);
+    }
+
+    private void advance() {
+        List<UUID> expired = new ArrayList<>();
+        synchronized (this) {
+            long targetTick = now() / tickMillis;
+            // After a long stall, one pass over every bucket covers all missed ticks
+            long steps = Math.min(targetTick - currentTick, buckets.length);
+            for (long i = 0; i < steps; i++) {
+                int bucket = (int) ((targetTick - steps + 1 + i) & mask);
+                Node node = buckets[bucket];
+                while (node != null) {
+                    Node next = node.next;
+                    if (node.tick <= targetTick) {
+                        unlink(node);
+                        expired.add(node.playerId);
+                    }
+                    node = next;
+                }
+            }
+            currentTick = Math.max(currentTick, targetTick);
+        }
+        for (UUID playerId : expired) {
+            for (CooldownListener listener : listeners) {
+                try {
+                    listener.onCooldownExpired(playerId);
+                } catch (RuntimeException e) {
+                    NSRaiAPI.logger().log(Level.WARNING, "Cooldown listener " + listener.getClass().getName() + " failed", e);
+                }
+            }
+        }
+    }
+
+    private void link(Node node, int bucket) {
+        node.bucket = bucket;
+        node.previous = null;
+        node.next = buckets[bucket];
+        if (node.next != null) {
+            node.next.previous = node;
+        }
+        buckets[bucket] = node;
+    }
+
+    private void unlink(Node node) {
+        if (node.bucket < 0) {
+            return;
+        }
+        if (node.previous != null) {
+            node.previous.next = node.next;
+        } else {
+            buckets[node.bucket] = node.next;
+        }
+        if (node.next != null) {
+            node.next.previous = node.previous;
+        }
+        node.previous = null;
+        node.next = null;
+        node.bucket = -1;
+    }
+
+    private static final class Node {
+        final UUID playerId;
+        long deadline;
+        long recordedAt;
+        long tick;
+        int bucket = -1;
+        Node previous;
+        Node next;
+
+        Node(UUID playerId) {
+            this.playerId = playerId;
+        }
+    }
+}
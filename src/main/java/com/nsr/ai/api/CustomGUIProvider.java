@@ -7,6 +7,7 @@ import org.bukkit.inventory.Inventory;
 /**
  * Interface for addons to provide custom GUI definitions to the NSR-AI core plugin.
  * Addons implementing this interface can define their own inventory layouts and handle click events.
+ * For menus opened often, extend {@link TemplateGUIProvider}, which builds the layout once and dispatches clicks by slot.
  */
 public interface CustomGUIProvider {
 
@@ -0,0 +1,56 @@
+package com.nsr.ai.api;
+
+/**
+ * A snapshot of the main-thread completion dispatcher.
+ * This class is immutable.
+ * @see NSRaiAPI#mainThreadExecutor()
+ */
+public final class DispatcherStats {
+    private final int pendingTasks;
+    private final long backlogLagMicros;
+    private final int lastTickTasks;
+    private final long lastTickMicros;
+    private final long budgetMicros;
+
+    /**
+     * Constructs a new DispatcherStats snapshot.
+     * @param pendingTasks The number of tasks waiting to run on the main thread.
+     * @param backlogLagMicros How long the oldest waiting task has been queued, in microseconds.
+     * @param lastTickTasks The number of tasks run during the last tick.
+     * @param lastTickMicros The time spent running tasks during the last tick, in microseconds.
+     * @param budgetMicros The configured per-tick time budget, in microseconds.
+     */
+    public DispatcherStats(int pendingTasks, long backlogLagMicros, int lastTickTasks, long lastTickMicros, long budgetMicros) {
+        this.pendingTasks = pendingTasks;
+        this.backlogLagMicros = backlogLagMicros;
+        this.lastTickTasks = lastTickTasks;
+        this.lastTickMicros = lastTickMicros;
+        this.budgetMicros = budgetMicros;
+    }
+
+    /**
+     * Gets the number of tasks waiting to run on the main thread.
+     * @return The pending task count.
+     */
+    public int getPendingTasks() { return pendingTasks; }
+    /**
+     * Gets how long the oldest waiting task has been queued.
+     * @return The backlog lag in microseconds, or 0 if the queue is empty.
+     */
+    public long getBacklogLagMicros() { return backlogLagMicros; }
+    /**
+     * Gets the number of tasks run during the last tick.
+     * @return The task count of the last tick.
+     */
+    public int getLastTickTasks() { return lastTickTasks; }
+    /**
+     * Gets the time spent running tasks during the last tick.
+     * @return The time in microseconds.
+     */
+    public long getLastTickMicros() { return lastTickMicros; }
+    /**
+     * Gets the configured per-tick time budget.
+     * @return The budget in microseconds.
+     */
+    public long getBudgetMicros() { return budgetMicros; }
+}
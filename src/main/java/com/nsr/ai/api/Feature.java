@@ -0,0 +1,83 @@
+package com.nsr.ai.api;
+
+/**
+ * Optional feature areas of the NSR-AI core plugin.
+ * Use {@link NSRaiAPI#capabilities()} to check whether the running core supports a feature
+ * before calling into it.
+ */
+public enum Feature {
+
+    /** AI chat: {@code sendMessageToAI} and {@code getAIResponse}. */
+    CHAT(InternalMethod.SEND_MESSAGE_TO_AI, InternalMethod.GET_AI_RESPONSE),
+
+    /**
+     * Native batch processing of AI requests via {@code getAIResponses}.
+     * Without it, batches are still accepted but forwarded to the core one message at a time.
+     */
+    BATCHED_CHAT(InternalMethod.GET_AI_RESPONSES),
+
+    /**
+     * Native streaming of AI responses via {@code streamAIResponse}.
+     * Without it, streams deliver the complete response as a single final chunk.
+     */
+    STREAMING_CHAT(InternalMethod.STREAM_AI_RESPONSE),
+
+    /** Pet data snapshots and pet listeners. */
+    PETS(InternalMethod.GET_PET_DATA, InternalMethod.REGISTER_PET_LISTENER),
+
+    /**
+     * Native bulk pet queries via {@code getPetData(Collection)}.
+     * Without it, bulk queries are still accepted but forwarded to the core one owner at a time.
+     */
+    BULK_PET_DATA(InternalMethod.GET_PET_DATA_BULK),
+
+    /** NPC listeners and NPC skin updates. */
+    NPCS(InternalMethod.REGISTER_NPC_LISTENER, InternalMethod.UPDATE_NPC_SKIN),
+
+    /** The GUIBuilder-based GUI system and GUI listeners. */
+    GUI(InternalMethod.OPEN_GUI_BUILDER, InternalMethod.REGISTER_GUI_LISTENER),
+
+    /** Registration and opening of custom GUIs via {@link CustomGUIProvider}. */
+    CUSTOM_GUI(InternalMethod.REGISTER_CUSTOM_GUI, InternalMethod.OPEN_CUSTOM_GUI),
+
+    /** Direct knowledge base modification and reloading. */
+    KNOWLEDGE_BASE(InternalMethod.ADD_KNOWLEDGE_ENTRY, InternalMethod.REMOVE_KNOWLEDGE_ENTRY,
+            InternalMethod.GET_ALL_KNOWLEDGE, InternalMethod.RELOAD_KNOWLEDGE_BASE),
+
+    /** Conversation history access, clearing and summarization. */
+    CONVERSATION_HISTORY(InternalMethod.CLEAR_CONVERSATION_HISTORY, InternalMethod.SUMMARIZE_CONVERSATION,
+            InternalMethod.REFRESH_CONVERSATION, InternalMethod.GET_CONVERSATION_HISTORY),
+
+    /**
+     * Paged conversation history reads and per-player memory statistics served by the core.
+     * Without it, pages and statistics are derived from the full history.
+     */
+    PAGED_HISTORY(InternalMethod.GET_CONVERSATION_HISTORY_PAGE, InternalMethod.GET_CONVERSATION_STATS),
+
+    /** Admin mode toggling and queries. */
+    ADMIN_MODE(InternalMethod.TOGGLE_ADMIN_MODE, InternalMethod.IS_ADMIN_MODE_ENABLED),
+
+    /** Per-player AI enablement and cooldown queries. */
+    PLAYER_STATES(InternalMethod.IS_PLAYER_ON_COOLDOWN, InternalMethod.GET_PLAYER_COOLDOWN_REMAINING,
+            InternalMethod.IS_AI_ENABLED, InternalMethod.SET_AI_ENABLED),
+
+    /**
+     * Native bulk player state snapshots via {@code getPlayerStates}.
+     * Without it, snapshots are assembled from per-player queries.
+     */
+    BULK_PLAYER_STATES(InternalMethod.GET_PLAYER_STATES);
+
+    private final InternalMethod[] methods;
+
+    Feature(InternalMethod... methods) {
+        this.methods = methods;
+    }
+
+    /**
+     * Gets the internal methods the core must provide for this feature.
+     * @return The required internal methods.
+     */
+    InternalMethod[] getMethods() {
+        return methods;
+    }
+}
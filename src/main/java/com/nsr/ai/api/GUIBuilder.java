@@ -1,8 +1,9 @@
 package com.nsr.ai.api;
 
 /**
- * Placeholder interface for building custom GUIs.
- * Actual GUI building methods would be defined here in a future version.
+ * Marks a GUI that is opened for a player with {@link NSRaiAPI#openCustomGUI(org.bukkit.entity.Player, GUIBuilder)}
+ * without registering it first. A GUIBuilder that also implements {@link CustomGUIProvider} is opened with that
+ * layout and click contract. For large data views, use {@link PagedGUIBuilder}, which renders one page at a time.
  */
 public interface GUIBuilder {
 }
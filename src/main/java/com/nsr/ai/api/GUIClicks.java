@@ -0,0 +1,29 @@
+package com.nsr.ai.api;
+
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+
+/**
+ * Decides which clicks in an open GUI must be cancelled to keep its layout intact.
+ */
+final class GUIClicks {
+
+    private GUIClicks() {
+    }
+
+    /**
+     * Checks whether a click can change the GUI's slots: a click inside the GUI, or a click in the player's own
+     * inventory that moves items into the GUI (shift-click) or collects matching items out of it (double-click).
+     * @param event The click.
+     * @param size The number of slots of the GUI.
+     * @return true if the click must be cancelled.
+     */
+    static boolean reachesGUI(InventoryClickEvent event, int size) {
+        int slot = event.getRawSlot();
+        if (slot >= 0 && slot < size) {
+            return true;
+        }
+        InventoryAction action = event.getAction();
+        return action == InventoryAction.MOVE_TO_OTHER_INVENTORY || action == InventoryAction.COLLECT_TO_CURSOR;
+    }
+}
@@ -0,0 +1,18 @@
+package com.nsr.ai.api;
+
+import java.util.List;
+
+/**
+ * Supplies the entries shown by a {@link PagedGUIBuilder}, one page at a time.
+ * @param <T> The type of the entries.
+ */
+@FunctionalInterface
+public interface GUIPageSource<T> {
+    /**
+     * Fetches a range of entries. May be called on an async scheduler thread when pages are prefetched.
+     * @param offset The index of the first entry to fetch.
+     * @param limit The maximum number of entries to fetch.
+     * @return The entries, at most {@code limit}; fewer than {@code limit} only when the end of the data is reached.
+     */
+    List<T> fetch(int offset, int limit);
+}
@@ -0,0 +1,134 @@
+package com.nsr.ai.api;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses identical requests from the same sender while the first one is still in flight.
+ * Requests are identical when they come from the same sender UUID and their content is equal
+ * after trimming, collapsing whitespace and ignoring case. Each caller receives its own view
+ * ({@link CompletableFuture#copy()}) of the shared upstream result, so cancelling one view
+ * does not affect the others.
+ * @param <T> The result type of the coalesced requests.
+ */
+final class InFlightCoalescer<T> {
+
+    private final ConcurrentHashMap<Key, CompletableFuture<T>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder upstream = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+
+    /**
+     * Returns the in-flight result for an identical request, or starts a new upstream request.
+     * @param sender The UUID of the sender.
+     * @param content The content of the request.
+     * @param request Starts the upstream request; only called if no identical request is in flight.
+     * @return A CompletableFuture that completes with the upstream result,
+     *         or exceptionally with an {@link IllegalStateException} if the upstream request returned null.
+     */
+    CompletableFuture<T> submit(UUID sender, String content, Supplier<CompletableFuture<T>> request) {
+        Key key = new Key(sender, normalize(content));
+        CompletableFuture<T> shared = new CompletableFuture<>();
+        CompletableFuture<T> existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            collapsed.increment();
+            return existing.copy();
+        }
+        upstream.increment();
+        CompletableFuture<T> result;
+        try {
+            result = request.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, shared);
+            shared.completeExceptionally(e);
+            throw e;
+        }
+        if (result == null) {
+            // A missing upstream result is a failure; never leave the key behind for later identical requests to wait on
+            inFlight.remove(key, shared);
+            shared.completeExceptionally(new IllegalStateException("Upstream request returned no result"));
+            return shared.copy();
+        }
+        result.whenComplete((value, error) -> {
+            // Remove before completing so requests issued from a completion callback start fresh
+            inFlight.remove(key, shared);
+            if (error != null) {
+                shared.completeExceptionally(error);
+            } else {
+                shared.complete(value);
+            }
+        });
+        return shared.copy();
+    }
+
+    long getUpstreamCount() {
+        return upstream.sum();
+    }
+
+    long getCollapsedCount() {
+        return collapsed.sum();
+    }
+
+    int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    static String normalize(String content) {
+        if (content == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(content.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Key {
+        private final UUID sender;
+        private final String content;
+        private final int hash;
+
+        private Key(UUID sender, String content) {
+            this.sender = sender;
+            this.content = content;
+            this.hash = 31 * sender.hashCode() + content.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && sender.equals(other.sender) && content.equals(other.content);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return Objects.toString(sender) + ':' + content;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.nsr.ai.api;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Method;
+
+/**
+ * An immutable table of {@link MethodHandle}s bound to one internal NSR-AI core API instance.
+ * The table is built once when the core plugin registers itself, so facade calls never perform
+ * a reflective lookup. Methods the core does not provide are recorded with a failure message
+ * instead of a handle and reported when the facade method is called. The {@link Capabilities}
+ * of the core are probed at the same time and travel with the table.
+ */
+final class InternalDispatch {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    final MethodHandle[] handles;
+    final String[] failures;
+    final Capabilities capabilities;
+
+    private InternalDispatch(MethodHandle[] handles, String[] failures) {
+        this.handles = handles;
+        this.failures = failures;
+        this.capabilities = Capabilities.probe(this, queryAvailableFeatures());
+    }
+
+    /**
+     * Resolves every {@link InternalMethod} against the given instance.
+     * Each handle is bound to the instance and adapted to a generic signature
+     * (all parameters as {@code Object}, the return type as declared by the constant).
+     * @param instance The internal API instance.
+     * @return The bound dispatch table.
+     */
+    static InternalDispatch bind(Object instance) {
+        InternalMethod[] methods = InternalMethod.values();
+        MethodHandle[] handles = new MethodHandle[methods.length];
+        String[] failures = new String[methods.length];
+        Class<?> type = instance.getClass();
+        for (InternalMethod method : methods) {
+            try {
+                Method target = type.getMethod(method.methodName, method.paramTypes);
+                MethodType erased = MethodType.genericMethodType(method.paramTypes.length)
+                        .changeReturnType(method.returnType);
+                handles[method.ordinal()] = LOOKUP.unreflect(target).bindTo(instance).asType(erased);
+            } catch (NoSuchMethodException e) {
+                failures[method.ordinal()] = "NSR-AI core plugin does not support method: " + method.methodName + ". API mismatch?";
+            } catch (IllegalAccessException e) {
+                failures[method.ordinal()] = "Cannot access internal NSR-AI API method: " + method.methodName;
+            } catch (WrongMethodTypeException e) {
+                failures[method.ordinal()] = "NSR-AI core plugin method has an incompatible signature: " + method.methodName + ". API mismatch?";
+            }
+        }
+        return new InternalDispatch(handles, failures);
+    }
+
+    /**
+     * Asks the core which of its services are currently available, if it supports reporting them.
+     * @return The reported feature names, or null if the core does not report them.
+     */
+    private java.util.Collection<?> queryAvailableFeatures() {
+        MethodHandle handle = handles[InternalMethod.GET_AVAILABLE_FEATURES.ordinal()];
+        if (handle == null) {
+            return null;
+        }
+        try {
+            Object result = (Object) handle.invokeExact();
+            return result instanceof java.util.Collection ? (java.util.Collection<?>) result : null;
+        } catch (Throwable t) {
+            // A failing probe must not prevent the API from initializing; fall back to method presence only.
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether the core provides the given method.
+     * @param method The internal method.
+     * @return true if a handle was bound for the method.
+     */
+    boolean isBound(InternalMethod method) {
+        return handles[method.ordinal()] != null;
+    }
+}
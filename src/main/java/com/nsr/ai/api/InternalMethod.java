@@ -0,0 +1,90 @@
+package com.nsr.ai.api;
+
+import org.bukkit.entity.Player;
+import java.util.UUID;
+
+/**
+ * Enumerates every method of the internal NSR-AI core API that the public facade forwards to.
+ * Each constant describes the method name and parameter types to resolve on the core instance,
+ * and the return type the facade expects so the bound handle can be adapted once up front.
+ */
+enum InternalMethod {
+
+    // --- Capability Probe ---
+    GET_AVAILABLE_FEATURES(Object.class, "getAvailableFeatures"),
+
+    // --- Chat API ---
+    SEND_MESSAGE_TO_AI(Object.class, "sendMessageToAI", Player.class, AIMessage.class),
+    GET_AI_RESPONSE(Object.class, "getAIResponse", AIMessage.class),
+    GET_AI_RESPONSES(Object.class, "getAIResponses", java.util.List.class),
+    STREAM_AI_RESPONSE(Object.class, "streamAIResponse", AIMessage.class),
+
+    // --- Pets API ---
+    GET_PET_DATA(Object.class, "getPetData", UUID.class),
+    GET_PET_DATA_BULK(Object.class, "getPetData", java.util.Collection.class),
+    REGISTER_PET_LISTENER(Object.class, "registerPetListener", PetListener.class),
+
+    // --- NPC API ---
+    REGISTER_NPC_LISTENER(Object.class, "registerNPCListener", NPCListener.class),
+    UPDATE_NPC_SKIN(Object.class, "updateNPCSkin", String.class, String.class, String.class),
+
+    // --- GUI API ---
+    OPEN_GUI_BUILDER(Object.class, "openCustomGUI", Player.class, GUIBuilder.class),
+    REGISTER_GUI_LISTENER(Object.class, "registerGUIListener", GUIListener.class),
+    REGISTER_CUSTOM_GUI(Object.class, "registerCustomGUI", String.class, CustomGUIProvider.class),
+    OPEN_CUSTOM_GUI(Object.class, "openCustomGUI", Player.class, String.class),
+
+    // --- Versioning and Addon Management ---
+    GET_VERSION(Object.class, "getVersion"),
+    GET_REGISTERED_ADDONS(Object.class, "getRegisteredAddons"),
+    GET_LOADED_ADDON_INFO(Object.class, "getLoadedAddonInfo"),
+    GET_FAILED_ADDON_INFO(Object.class, "getFailedAddonInfo"),
+    GET_LOGGER(Object.class, "getLogger"),
+    GET_PLUGIN(Object.class, "getPlugin"),
+
+    // --- Admin Mode Management ---
+    TOGGLE_ADMIN_MODE(boolean.class, "toggleAdminMode", Player.class, String.class),
+    IS_ADMIN_MODE_ENABLED(boolean.class, "isAdminModeEnabled", Player.class),
+
+    // --- Player States ---
+    IS_PLAYER_ON_COOLDOWN(boolean.class, "isPlayerOnCooldown", Player.class),
+    GET_PLAYER_COOLDOWN_REMAINING(long.class, "getPlayerCooldownRemaining", Player.class),
+    IS_AI_ENABLED(boolean.class, "isAiEnabled", Player.class),
+    SET_AI_ENABLED(Object.class, "setAiEnabled", Player.class, boolean.class),
+    GET_PLAYER_STATES(Object.class, "getPlayerStates", java.util.Collection.class),
+
+    // --- Knowledge Base ---
+    ADD_KNOWLEDGE_ENTRY(Object.class, "addKnowledgeEntry", String.class, String.class, String.class),
+    REMOVE_KNOWLEDGE_ENTRY(Object.class, "removeKnowledgeEntry", String.class),
+    GET_ALL_KNOWLEDGE(Object.class, "getAllKnowledge"),
+
+    // --- Conversation History ---
+    CLEAR_CONVERSATION_HISTORY(Object.class, "clearConversationHistory", Player.class),
+    SUMMARIZE_CONVERSATION(Object.class, "summarizeConversation", Player.class),
+    SUMMARIZE_CONVERSATION_ASYNC(Object.class, "summarizeConversationAsync", UUID.class),
+    REFRESH_CONVERSATION(Object.class, "refreshConversation", Player.class),
+    GET_CONVERSATION_HISTORY(Object.class, "getConversationHistory", Player.class),
+    GET_CONVERSATION_HISTORY_PAGE(Object.class, "getConversationHistory", UUID.class, int.class, int.class),
+    GET_CONVERSATION_STATS(Object.class, "getConversationStats", UUID.class),
+
+    // --- Configuration Reloading ---
+    RELOAD_MAIN_CONFIG(Object.class, "reloadMainConfig"),
+    RELOAD_FEATURES_CONFIG(Object.class, "reloadFeaturesConfig"),
+    RELOAD_KNOWLEDGE_BASE(Object.class, "reloadKnowledgeBase");
+
+    final Class<?> returnType;
+    final String methodName;
+    final Class<?>[] paramTypes;
+
+    /**
+     * @param returnType The return type the facade invokes the handle with: {@code Object.class} for
+     *                   references and void, or a primitive type for allocation-free primitive results.
+     * @param methodName The name of the internal method.
+     * @param paramTypes The parameter types of the internal method.
+     */
+    InternalMethod(Class<?> returnType, String methodName, Class<?>... paramTypes) {
+        this.returnType = returnType;
+        this.methodName = methodName;
+        this.paramTypes = paramTypes;
+    }
+}
@@ -0,0 +1,64 @@
+package com.nsr.ai.api;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Describes the changes between two versions of the knowledge base.
+ * This class is immutable.
+ * @see KnowledgeListener
+ */
+public final class KnowledgeDelta {
+    private final long fromVersion;
+    private final long toVersion;
+    private final Map<String, String> added;
+    private final Map<String, String> removed;
+    private final Map<String, String> changed;
+
+    /**
+     * Constructs a new KnowledgeDelta.
+     * @param fromVersion The version the changes apply to.
+     * @param toVersion The version produced by the changes.
+     * @param added The added entries (key to content). Must not be modified afterwards.
+     * @param removed The removed entries (key to their previous content). Must not be modified afterwards.
+     * @param changed The changed entries (key to their new content). Must not be modified afterwards.
+     */
+    KnowledgeDelta(long fromVersion, long toVersion, Map<String, String> added, Map<String, String> removed, Map<String, String> changed) {
+        this.fromVersion = fromVersion;
+        this.toVersion = toVersion;
+        this.added = Collections.unmodifiableMap(added);
+        this.removed = Collections.unmodifiableMap(removed);
+        this.changed = Collections.unmodifiableMap(changed);
+    }
+
+    /**
+     * Gets the version of the knowledge base before the changes.
+     * @return The previous version.
+     */
+    public long getFromVersion() { return fromVersion; }
+    /**
+     * Gets the version of the knowledge base after the changes.
+     * @return The new version.
+     */
+    public long getToVersion() { return toVersion; }
+    /**
+     * Gets the added entries.
+     * @return An unmodifiable map of composite keys to content.
+     */
+    public Map<String, String> getAdded() { return added; }
+    /**
+     * Gets the removed entries.
+     * @return An unmodifiable map of composite keys to the content they had before removal.
+     */
+    public Map<String, String> getRemoved() { return removed; }
+    /**
+     * Gets the entries whose content changed.
+     * @return An unmodifiable map of composite keys to their new content.
+     */
+    public Map<String, String> getChanged() { return changed; }
+    /**
+     * Checks whether this delta contains any change.
+     * @return true if no entries were added, removed or changed.
+     */
+    public boolean isEmpty() { return added.isEmpty() && removed.isEmpty() && changed.isEmpty(); }
+}
@@ -0,0 +1,222 @@
+package com.nsr.ai.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory search index over the knowledge base.
+ * Keywords are kept in a sorted map for exact and prefix lookups, and the terms of each entry's
+ * keyword, heading and content are kept in an inverted index for BM25 ranking.
+ * The index is updated incrementally, one entry at a time.
+ */
+final class KnowledgeIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Comparator<Scored> RANKING = Comparator
+            .comparing((Scored scored) -> scored.type)
+            .thenComparing(Comparator.comparingDouble((Scored scored) -> scored.score).reversed())
+            .thenComparing(scored -> scored.document.key);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final Map<String, Document> documents = new HashMap<>();
+    private final TreeMap<String, Set<String>> keywords = new TreeMap<>();
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+    private long totalLength;
+
+    /**
+     * Builds an index over a snapshot of the knowledge base.
+     * @param entries The entries, keyed by composite "keyword/heading" key.
+     * @return The populated index.
+     */
+    static KnowledgeIndex of(Map<String, String> entries) {
+        KnowledgeIndex index = new KnowledgeIndex();
+        entries.forEach(index::put);
+        return index;
+    }
+
+    /**
+     * Adds or replaces an entry.
+     * @param key The composite key of the entry.
+     * @param content The content of the entry.
+     */
+    void put(String key, String content) {
+        Document document = new Document(key, content);
+        lock.writeLock().lock();
+        try {
+            unindex(documents.put(key, document));
+            keywords.computeIfAbsent(document.keywordKey, k -> new HashSet<>()).add(key);
+            document.termFrequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(key, frequency));
+            totalLength += document.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an entry by its composite key.
+     * @param key The composite key of the entry.
+     */
+    void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            unindex(documents.remove(key));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the index.
+     * Exact keyword matches rank first, then keyword prefix matches, then entries matching any query term.
+     * Within each group, entries are ordered by their BM25 score.
+     * @param query The search query.
+     * @param limit The maximum number of results.
+     * @return The best matches, most relevant first.
+     */
+    List<KnowledgeMatch> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<String> terms = tokenize(normalized);
+        lock.readLock().lock();
+        try {
+            Map<String, Scored> candidates = new HashMap<>();
+            for (Map.Entry<String, Set<String>> entry : keywords.subMap(normalized, true, normalized + Character.MAX_VALUE, false).entrySet()) {
+                KnowledgeMatch.Type type = entry.getKey().equals(normalized) ? KnowledgeMatch.Type.EXACT : KnowledgeMatch.Type.PREFIX;
+                for (String key : entry.getValue()) {
+                    candidates.put(key, new Scored(documents.get(key), type));
+                }
+            }
+            double averageLength = documents.isEmpty() ? 0 : (double) totalLength / documents.size();
+            for (String term : new HashSet<>(terms)) {
+                Map<String, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documents.size() - posting.size() + 0.5) / (posting.size() + 0.5));
+                for (Map.Entry<String, Integer> hit : posting.entrySet()) {
+                    Document document = documents.get(hit.getKey());
+                    int frequency = hit.getValue();
+                    double norm = K1 * (1 - B + B * document.length / averageLength);
+                    candidates.computeIfAbsent(hit.getKey(), key -> new Scored(document, KnowledgeMatch.Type.TERM))
+                            .score += idf * frequency * (K1 + 1) / (frequency + norm);
+                }
+            }
+            // Keep only the best 'limit' candidates: the head of this queue is the worst one kept so far
+            PriorityQueue<Scored> best = new PriorityQueue<>(RANKING.reversed());
+            for (Scored candidate : candidates.values()) {
+                best.add(candidate);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<Scored> ranked = new ArrayList<>(best);
+            ranked.sort(RANKING);
+            List<KnowledgeMatch> matches = new ArrayList<>(ranked.size());
+            for (Scored scored : ranked) {
+                Document document = scored.document;
+                matches.add(new KnowledgeMatch(document.key, document.keyword, document.heading, document.content, scored.type, scored.score));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Must be called while holding the write lock
+    private void unindex(Document document) {
+        if (document == null) {
+            return;
+        }
+        Set<String> keys = keywords.get(document.keywordKey);
+        if (keys != null && keys.remove(document.key) && keys.isEmpty()) {
+            keywords.remove(document.keywordKey);
+        }
+        for (String term : document.termFrequencies.keySet()) {
+            Map<String, Integer> posting = postings.get(term);
+            if (posting != null && posting.remove(document.key) != null && posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= document.length;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static final class Document {
+        private final String key;
+        private final String keyword;
+        private final String keywordKey;
+        private final String heading;
+        private final String content;
+        private final Map<String, Integer> termFrequencies = new HashMap<>();
+        private final int length;
+
+        private Document(String key, String content) {
+            int separator = key.indexOf('/');
+            this.key = key;
+            this.keyword = separator < 0 ? key : key.substring(0, separator);
+            this.keywordKey = normalize(keyword);
+            this.heading = separator < 0 ? "" : key.substring(separator + 1);
+            this.content = content == null ? "" : content;
+            List<String> terms = tokenize(keyword + ' ' + heading + ' ' + this.content);
+            for (String term : terms) {
+                termFrequencies.merge(term, 1, Integer::sum);
+            }
+            this.length = terms.size();
+        }
+    }
+
+    private static final class Scored {
+        private final Document document;
+        private final KnowledgeMatch.Type type;
+        private double score;
+
+        private Scored(Document document, KnowledgeMatch.Type type) {
+            this.document = document;
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.nsr.ai.api;
+
+/**
+ * Listener interface for knowledge base changes.
+ */
+public interface KnowledgeListener {
+    /**
+     * Called after the knowledge base has changed, on the thread that applied the change or, if several changes
+     * were applied at once, on one of those threads. Deltas are delivered one at a time, in version order.
+     * @param delta The entries that were added, removed or changed.
+     */
+    void onKnowledgeChanged(KnowledgeDelta delta);
+}
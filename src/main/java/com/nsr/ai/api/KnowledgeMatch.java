@@ -0,0 +1,76 @@
+package com.nsr.ai.api;
+
+/**
+ * Represents a knowledge base entry found by {@link NSRaiAPI#searchKnowledge(String, int)}.
+ * This class is immutable.
+ */
+public final class KnowledgeMatch {
+
+    /**
+     * How an entry matched the search query, from strongest to weakest.
+     */
+    public enum Type {
+        /** The entry's keyword equals the query (ignoring case). */
+        EXACT,
+        /** The entry's keyword starts with the query (ignoring case). */
+        PREFIX,
+        /** The entry's keyword, heading or content contains one or more of the query's terms. */
+        TERM
+    }
+
+    private final String key;
+    private final String keyword;
+    private final String heading;
+    private final String content;
+    private final Type type;
+    private final double score;
+
+    /**
+     * Constructs a new KnowledgeMatch.
+     * @param key The composite key of the entry (e.g., "keyword/heading").
+     * @param keyword The keyword of the entry.
+     * @param heading The heading of the entry, or an empty string if it has none.
+     * @param content The content of the entry.
+     * @param type How the entry matched the query.
+     * @param score The relevance score of the entry's terms (BM25); higher is more relevant.
+     */
+    public KnowledgeMatch(String key, String keyword, String heading, String content, Type type, double score) {
+        this.key = key;
+        this.keyword = keyword;
+        this.heading = heading;
+        this.content = content;
+        this.type = type;
+        this.score = score;
+    }
+
+    /**
+     * Gets the composite key of the entry, as used by {@link NSRaiAPI#getAllKnowledge()}.
+     * @return The entry key.
+     */
+    public String getKey() { return key; }
+    /**
+     * Gets the keyword of the entry.
+     * @return The keyword.
+     */
+    public String getKeyword() { return keyword; }
+    /**
+     * Gets the heading of the entry.
+     * @return The heading, or an empty string if the entry has none.
+     */
+    public String getHeading() { return heading; }
+    /**
+     * Gets the content of the entry.
+     * @return The content.
+     */
+    public String getContent() { return content; }
+    /**
+     * Gets how the entry matched the query.
+     * @return The match type.
+     */
+    public Type getType() { return type; }
+    /**
+     * Gets the relevance score of the entry's terms for the query.
+     * @return The BM25 score; 0 if none of the query's terms occur in the entry.
+     */
+    public double getScore() { return score; }
+}
@@ -0,0 +1,47 @@
+package com.nsr.ai.api;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * An immutable, versioned view of the knowledge base.
+ * Every change to the knowledge base produces a new snapshot with a higher version,
+ * so a snapshot can be read from any thread without locking and never changes underneath its reader.
+ */
+public final class KnowledgeSnapshot {
+    private final long version;
+    private final Map<String, String> entries;
+
+    /**
+     * Constructs a new KnowledgeSnapshot.
+     * @param version The version of the knowledge base this snapshot represents.
+     * @param entries The entries of the knowledge base, keyed by composite key. Must not be modified afterwards.
+     */
+    KnowledgeSnapshot(long version, Map<String, String> entries) {
+        this.version = version;
+        this.entries = Collections.unmodifiableMap(entries);
+    }
+
+    /**
+     * Gets the version of the knowledge base this snapshot represents.
+     * Versions increase monotonically with every change.
+     * @return The snapshot version.
+     */
+    public long getVersion() { return version; }
+    /**
+     * Gets all entries of this snapshot.
+     * @return An unmodifiable map of composite keys (e.g., "keyword/heading") to content.
+     */
+    public Map<String, String> getEntries() { return entries; }
+    /**
+     * Gets the content of an entry.
+     * @param key The composite key of the entry.
+     * @return The content, or null if the snapshot has no such entry.
+     */
+    public String get(String key) { return entries.get(key); }
+    /**
+     * Gets the number of entries in this snapshot.
+     * @return The entry count.
+     */
+    public int size() { return entries.size(); }
+}
@@ -0,0 +1,203 @@
+package com.nsr.ai.api;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+
+/**
+ * Holds the current {@link KnowledgeSnapshot} of the knowledge base together with its search index.
+ * Writers are serialized and apply each change to a working copy, the search index and a keyword index in time
+ * proportional to the number of changed entries. The immutable snapshot is copied from the working copy lazily,
+ * at most once per version, when it is first read after a change, so a burst of changes costs one copy in total.
+ * Listeners are notified in version order, outside the store's lock.
+ */
+final class KnowledgeStore {
+
+    private final KnowledgeIndex index;
+    private final CopyOnWriteArrayList<KnowledgeListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile KnowledgeSnapshot snapshot;
+
+    // Guarded by this
+    private final Map<String, String> entries;
+    private final Map<String, Set<String>> keysByKeyword = new HashMap<>();
+    private final ArrayDeque<KnowledgeDelta> undelivered = new ArrayDeque<>();
+    private boolean notifying;
+    // Written while holding this
+    private volatile long version = 1;
+
+    KnowledgeStore(Map<String, String> entries) {
+        this.entries = new HashMap<>(entries);
+        this.entries.keySet().forEach(this::indexKeyword);
+        this.snapshot = new KnowledgeSnapshot(version, new HashMap<>(this.entries));
+        this.index = KnowledgeIndex.of(this.entries);
+    }
+
+    KnowledgeSnapshot getSnapshot() {
+        KnowledgeSnapshot current = snapshot;
+        if (current.getVersion() == version) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot.getVersion() != version) {
+                snapshot = new KnowledgeSnapshot(version, new HashMap<>(entries));
+            }
+            return snapshot;
+        }
+    }
+
+    KnowledgeIndex getIndex() {
+        return index;
+    }
+
+    void addListener(KnowledgeListener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    void removeListener(KnowledgeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Records an added or replaced entry.
+     */
+    void put(String key, String content) {
+        synchronized (this) {
+            Map<String, String> added = new HashMap<>();
+            Map<String, String> changed = new HashMap<>();
+            String previous = entries.get(key);
+            if (previous == null) {
+                added.put(key, content);
+            } else if (!previous.equals(content)) {
+                changed.put(key, content);
+            }
+            apply(added, new HashMap<>(), changed);
+        }
+        deliver();
+    }
+
+    /**
+     * Records the removal of every entry with the given keyword (ignoring case), or whose composite key equals it.
+     */
+    void removeKeyword(String keyword) {
+        synchronized (this) {
+            Map<String, String> removed = new HashMap<>();
+            Set<String> keys = keysByKeyword.get(keyword.toLowerCase(Locale.ROOT));
+            if (keys != null) {
+                for (String key : keys) {
+                    removed.put(key, entries.get(key));
+                }
+            }
+            String exact = entries.get(keyword);
+            if (exact != null) {
+                removed.put(keyword, exact);
+            }
+            apply(new HashMap<>(), removed, new HashMap<>());
+        }
+        deliver();
+    }
+
+    /**
+     * Diffs a full copy of the knowledge base against the current snapshot and applies only the differences.
+     */
+    void reconcile(Map<String, String> latest) {
+        synchronized (this) {
+            Map<String, String> added = new HashMap<>();
+            Map<String, String> removed = new HashMap<>();
+            Map<String, String> changed = new HashMap<>();
+            for (Map.Entry<String, String> entry : latest.entrySet()) {
+                String previous = entries.get(entry.getKey());
+                if (previous == null) {
+                    added.put(entry.getKey(), entry.getValue());
+                } else if (!previous.equals(entry.getValue())) {
+                    changed.put(entry.getKey(), entry.getValue());
+                }
+            }
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                if (!latest.containsKey(entry.getKey())) {
+                    removed.put(entry.getKey(), entry.getValue());
+                }
+            }
+            apply(added, removed, changed);
+        }
+        deliver();
+    }
+
+    // Must be called while holding the lock
+    private void apply(Map<String, String> added, Map<String, String> removed, Map<String, String> changed) {
+        if (added.isEmpty() && removed.isEmpty() && changed.isEmpty()) {
+            return;
+        }
+        for (String key : removed.keySet()) {
+            entries.remove(key);
+            unindexKeyword(key);
+            index.remove(key);
+        }
+        added.forEach((key, content) -> {
+            entries.put(key, content);
+            indexKeyword(key);
+            index.put(key, content);
+        });
+        changed.forEach((key, content) -> {
+            entries.put(key, content);
+            index.put(key, content);
+        });
+        undelivered.addLast(new KnowledgeDelta(version, version + 1, added, removed, changed));
+        version++;
+    }
+
+    // Hands queued deltas to the listeners in version order; only one thread delivers at a time
+    private void deliver() {
+        synchronized (this) {
+            if (notifying) {
+                return;
+            }
+            notifying = true;
+        }
+        try {
+            while (true) {
+                KnowledgeDelta delta;
+                synchronized (this) {
+                    delta = undelivered.pollFirst();
+                    if (delta == null) {
+                        notifying = false;
+                        return;
+                    }
+                }
+                for (KnowledgeListener listener : listeners) {
+                    try {
+                        listener.onKnowledgeChanged(delta);
+                    } catch (RuntimeException e) {
+                        NSRaiAPI.logger().log(Level.WARNING, "Knowledge listener " + listener.getClass().getName() + " failed", e);
+                    }
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                notifying = false;
+            }
+            throw e;
+        }
+    }
+
+    private static String keywordOf(String key) {
+        int separator = key.indexOf('/');
+        return (separator < 0 ? key : key.substring(0, separator)).toLowerCase(Locale.ROOT);
+    }
+
+    private void indexKeyword(String key) {
+        keysByKeyword.computeIfAbsent(keywordOf(key), keyword -> new HashSet<>()).add(key);
+    }
+
+    private void unindexKeyword(String key) {
+        String keyword = keywordOf(key);
+        Set<String> keys = keysByKeyword.get(keyword);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            keysByKeyword.remove(keyword);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.nsr.ai.api;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records call latencies into a log-linear histogram, in the style of HdrHistogram.
+ * <p>
+ * Values below 16 ns get one bucket each; above that, every power of two is split into 8 equal buckets, so any
+ * recorded value is reported with a relative error of at most 12.5% across the whole range of a long.
+ * Recording is a handful of atomic increments on preallocated counters and never allocates.
+ */
+final class LatencyRecorder {
+
+    /** Returned by {@link #start()} while metrics are disabled; {@link #stop(long)} and {@link #fail(long)} then do nothing. */
+    static final long DISABLED = Long.MIN_VALUE;
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - 4) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLong inFlight = new AtomicLong();
+
+    LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Marks the start of a call.
+     * @return The start time to pass to {@link #stop(long)} or {@link #fail(long)}.
+     */
+    long start() {
+        if (!MetricsRegistry.isEnabled()) {
+            return DISABLED;
+        }
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    void stop(long start) {
+        if (start != DISABLED) {
+            inFlight.decrementAndGet();
+            record(System.nanoTime() - start);
+        }
+    }
+
+    void fail(long start) {
+        if (start != DISABLED) {
+            errors.incrementAndGet();
+            stop(start);
+        }
+    }
+
+    private void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(indexOf(value));
+        count.incrementAndGet();
+        totalNanos.addAndGet(value);
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        errors.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    boolean isIdle() {
+        return count.get() == 0 && inFlight.get() == 0;
+    }
+
+    TimerStats snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return new TimerStats(name, count.get(), errors.get(), inFlight.get(), totalNanos.get(), maxNanos.get(), counts);
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Gets the largest value that falls into a bucket.
+     */
+    static long upperBoundOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
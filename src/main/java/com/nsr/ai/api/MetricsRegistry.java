@@ -0,0 +1,220 @@
+package com.nsr.ai.api;
+
+import org.bukkit.entity.Player;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Holds the latency recorders of every instrumented API path.
+ * Recorders are created once up front and looked up by array index or constant, so instrumented calls never allocate.
+ */
+final class MetricsRegistry {
+
+    private static volatile boolean enabled = true;
+
+    private static final LatencyRecorder[] DISPATCH = new LatencyRecorder[InternalMethod.values().length];
+
+    static {
+        for (InternalMethod method : InternalMethod.values()) {
+            DISPATCH[method.ordinal()] = new LatencyRecorder("dispatch." + method.name());
+        }
+    }
+
+    static final LatencyRecorder AI_SEND = new LatencyRecorder("ai.send");
+    static final LatencyRecorder AI_RESPONSE = new LatencyRecorder("ai.response");
+    static final LatencyRecorder AI_UPSTREAM = new LatencyRecorder("ai.upstream");
+    static final LatencyRecorder PET_LISTENERS = new LatencyRecorder("listener.pet");
+    static final LatencyRecorder NPC_LISTENERS = new LatencyRecorder("listener.npc");
+    static final LatencyRecorder GUI_LISTENERS = new LatencyRecorder("listener.gui");
+
+    private static final LatencyRecorder[] OTHERS = {AI_SEND, AI_RESPONSE, AI_UPSTREAM, PET_LISTENERS, NPC_LISTENERS, GUI_LISTENERS};
+
+    // Timed wrappers by listener identity, so registering a listener twice hands the core the same object
+    private static final WrapperCache<PetListener> TIMED_PET = new WrapperCache<>();
+    private static final WrapperCache<NPCListener> TIMED_NPC = new WrapperCache<>();
+    private static final WrapperCache<GUIListener> TIMED_GUI = new WrapperCache<>();
+
+    private MetricsRegistry() {
+    }
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    static LatencyRecorder dispatch(InternalMethod method) {
+        return DISPATCH[method.ordinal()];
+    }
+
+    static ApiMetrics snapshot() {
+        Map<String, TimerStats> timers = new LinkedHashMap<>();
+        for (LatencyRecorder recorder : OTHERS) {
+            add(timers, recorder);
+        }
+        for (LatencyRecorder recorder : DISPATCH) {
+            add(timers, recorder);
+        }
+        return new ApiMetrics(timers);
+    }
+
+    static void reset() {
+        for (LatencyRecorder recorder : OTHERS) {
+            recorder.reset();
+        }
+        for (LatencyRecorder recorder : DISPATCH) {
+            recorder.reset();
+        }
+    }
+
+    private static void add(Map<String, TimerStats> timers, LatencyRecorder recorder) {
+        if (!recorder.isIdle()) {
+            TimerStats stats = recorder.snapshot();
+            timers.put(stats.getName(), stats);
+        }
+    }
+
+    private static <T> T wrapper(WrapperCache<T> wrappers, T listener, Function<T, T> wrap) {
+        if (listener == null) {
+            // Let the core reject it as before
+            return null;
+        }
+        return wrappers.get(listener, wrap);
+    }
+
+    /**
+     * Wraps a pet listener registered with the core so its callbacks are timed.
+     * The same listener gets the same wrapper for as long as the core plugin holds on to it.
+     */
+    static PetListener timedPet(PetListener listener) {
+        return wrapper(TIMED_PET, listener, MetricsRegistry::newTimedPet);
+    }
+
+    private static PetListener newTimedPet(PetListener listener) {
+        return new PetListener() {
+            @Override
+            public void onPetEvent(PetDataSnapshot petData) {
+                long start = PET_LISTENERS.start();
+                try {
+                    listener.onPetEvent(petData);
+                } catch (RuntimeException e) {
+                    PET_LISTENERS.fail(start);
+                    throw e;
+                }
+                PET_LISTENERS.stop(start);
+            }
+
+            @Override
+            public void onPetEvent(PetEventKind kind, PetDataSnapshot petData) {
+                long start = PET_LISTENERS.start();
+                try {
+                    listener.onPetEvent(kind, petData);
+                } catch (RuntimeException e) {
+                    PET_LISTENERS.fail(start);
+                    throw e;
+                }
+                PET_LISTENERS.stop(start);
+            }
+        };
+    }
+
+    /**
+     * Wraps an NPC listener registered with the core so its callbacks are timed.
+     * The same listener gets the same wrapper for as long as the core plugin holds on to it.
+     */
+    static NPCListener timedNPC(NPCListener listener) {
+        return wrapper(TIMED_NPC, listener, MetricsRegistry::newTimedNPC);
+    }
+
+    private static NPCListener newTimedNPC(NPCListener listener) {
+        return (player, npcName) -> {
+            long start = NPC_LISTENERS.start();
+            try {
+                listener.onNPCInteract(player, npcName);
+            } catch (RuntimeException e) {
+                NPC_LISTENERS.fail(start);
+                throw e;
+            }
+            NPC_LISTENERS.stop(start);
+        };
+    }
+
+    /**
+     * Wraps a GUI listener registered with the core so its callbacks are timed.
+     * The same listener gets the same wrapper for as long as the core plugin holds on to it.
+     */
+    static GUIListener timedGUI(GUIListener listener) {
+        return wrapper(TIMED_GUI, listener, MetricsRegistry::newTimedGUI);
+    }
+
+    private static GUIListener newTimedGUI(GUIListener listener) {
+        return (Player player, String eventType) -> {
+            long start = GUI_LISTENERS.start();
+            try {
+                listener.onGUIEvent(player, eventType);
+            } catch (RuntimeException e) {
+                GUI_LISTENERS.fail(start);
+                throw e;
+            }
+            GUI_LISTENERS.stop(start);
+        };
+    }
+
+    /**
+     * Maps listeners, compared by identity, to their timed wrappers without keeping either alive.
+     * A wrapper stays cached while something, usually the core plugin, holds it; since the wrapper holds its
+     * listener, the listener's entry lives exactly as long. Entries of collected listeners are removed on access.
+     */
+    private static final class WrapperCache<T> {
+        private final Map<Key, WeakReference<T>> wrappers = new HashMap<>();
+        private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+        synchronized T get(T listener, Function<T, T> wrap) {
+            Reference<?> stale;
+            while ((stale = collected.poll()) != null) {
+                wrappers.remove(stale);
+            }
+            WeakReference<T> cached = wrappers.get(new Key(listener, null));
+            T wrapper = cached == null ? null : cached.get();
+            if (wrapper == null) {
+                wrapper = wrap.apply(listener);
+                wrappers.put(new Key(listener, collected), new WeakReference<>(wrapper));
+            }
+            return wrapper;
+        }
+    }
+
+    private static final class Key extends WeakReference<Object> {
+        private final int hash;
+
+        Key(Object listener, ReferenceQueue<Object> queue) {
+            super(listener, queue);
+            this.hash = System.identityHashCode(listener);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Object referent = get();
+            return referent != null && referent == ((Key) other).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
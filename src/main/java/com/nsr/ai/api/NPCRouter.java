@@ -0,0 +1,131 @@
+package com.nsr.ai.api;
+
+import org.bukkit.entity.Player;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Routes NPC interactions to the listeners registered for the clicked NPC.
+ * <p>
+ * The router registers itself as the core's {@link NPCListener}, and again with every core that registers later, so
+ * routes survive core reloads. Each interaction is looked up in a hash index by NPC name, so only the matching
+ * listeners run and interactions with NPCs nobody routes cost one map lookup.
+ * Before any listener runs, a player who interacted with a routed NPC less than the throttle interval ago is dropped,
+ * which stops click spam before it reaches handlers (and the AI calls they make).
+ */
+final class NPCRouter implements NPCListener {
+
+    // Prune the last-interaction map once it holds this many players
+    private static final int PRUNE_THRESHOLD = 1024;
+
+    private final ConcurrentHashMap<String, CopyOnWriteArrayList<Route>> routes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Long> lastInteraction = new ConcurrentHashMap<>();
+    private final AtomicLong throttled = new AtomicLong();
+    private volatile long throttleNanos = TimeUnit.MILLISECONDS.toNanos(500);
+
+    void register(String npcName, NPCListener listener, boolean async) {
+        Objects.requireNonNull(listener, "listener");
+        Route route = new Route(listener, async);
+        // Add inside compute, so a concurrent unregister cannot remove the list this route was added to
+        routes.compute(npcName, (k, list) -> {
+            CopyOnWriteArrayList<Route> npcRoutes = list == null ? new CopyOnWriteArrayList<>() : list;
+            npcRoutes.addIfAbsent(route);
+            return npcRoutes;
+        });
+    }
+
+    void unregister(String npcName, NPCListener listener) {
+        routes.computeIfPresent(npcName, (k, list) -> {
+            list.removeIf(route -> route.listener == listener);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    void setThrottleMillis(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Throttle interval must not be negative: " + millis);
+        }
+        throttleNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    long getThrottledCount() {
+        return throttled.get();
+    }
+
+    @Override
+    public void onNPCInteract(Player player, String npcName) {
+        CopyOnWriteArrayList<Route> matching = routes.get(npcName);
+        if (matching == null || !tryAcquire(player.getUniqueId())) {
+            return;
+        }
+        for (Route route : matching) {
+            if (route.async) {
+                org.bukkit.plugin.Plugin plugin = NSRaiAPI.getPlugin();
+                plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> deliver(route.listener, player, npcName));
+            } else {
+                deliver(route.listener, player, npcName);
+            }
+        }
+    }
+
+    private boolean tryAcquire(UUID playerId) {
+        long interval = throttleNanos;
+        if (interval == 0) {
+            return true;
+        }
+        long now = System.nanoTime();
+        boolean[] accepted = new boolean[1];
+        lastInteraction.compute(playerId, (k, last) -> {
+            if (last != null && now - last < interval) {
+                return last;
+            }
+            accepted[0] = true;
+            return now;
+        });
+        if (!accepted[0]) {
+            throttled.incrementAndGet();
+            return false;
+        }
+        if (lastInteraction.size() > PRUNE_THRESHOLD) {
+            lastInteraction.values().removeIf(last -> now - last >= interval);
+        }
+        return true;
+    }
+
+    private static void deliver(NPCListener listener, Player player, String npcName) {
+        long start = MetricsRegistry.NPC_LISTENERS.start();
+        try {
+            listener.onNPCInteract(player, npcName);
+            MetricsRegistry.NPC_LISTENERS.stop(start);
+        } catch (RuntimeException e) {
+            MetricsRegistry.NPC_LISTENERS.fail(start);
+            NSRaiAPI.logger().log(Level.WARNING, "NPC listener " + listener.getClass().getName() + " failed", e);
+        }
+    }
+
+    private static final class Route {
+        final NPCListener listener;
+        final boolean async;
+
+        Route(NPCListener listener, boolean async) {
+            this.listener = listener;
+            this.async = async;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Route && ((Route) other).listener == listener;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(listener);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.nsr.ai.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Queues NPC skin updates and applies them in tick-budgeted batches.
+ * <p>
+ * Only the latest pending update per NPC is kept: queuing a skin for an NPC that already has one waiting replaces it,
+ * so cycling skins never applies intermediate ones. The first pending update of an NPC schedules one apply task on the
+ * main thread executor, which then applies whatever skin is latest at that point. If that task has not run within
+ * {@link #RESCHEDULE_NANOS}, e.g. because it was lost with a previous core plugin, the next update schedules another.
+ * <p>
+ * Texture and signature pairs are decoded and validated once and kept in a small LRU cache; reused skins then skip
+ * decoding and reuse the same string instances, which also lets identity-keyed caches in the core hit.
+ */
+final class NPCSkinQueue {
+
+    private static final int TEXTURE_CACHE_SIZE = 256;
+    static final long RESCHEDULE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Applies a skin to an NPC, e.g. by forwarding to the core plugin.
+     */
+    interface Applier {
+        void apply(String npcName, String texture, String signature);
+    }
+
+    private final Executor mainThread;
+    private final Applier applier;
+
+    // Guarded by this
+    private final Map<String, Pending> pending = new HashMap<>();
+    private final LinkedHashMap<String, Skin> textures = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Skin> eldest) {
+            return size() > TEXTURE_CACHE_SIZE;
+        }
+    };
+    private long applied;
+    private long coalesced;
+    private long cacheHits;
+    private long cacheMisses;
+
+    NPCSkinQueue(Executor mainThread, Applier applier) {
+        this.mainThread = mainThread;
+        this.applier = applier;
+    }
+
+    /**
+     * Queues a skin update.
+     * @throws IllegalArgumentException if the texture or signature is not valid base64, or the texture holds no skin.
+     */
+    void enqueue(String npcName, String texture, String signature) {
+        Skin skin = resolve(texture, signature);
+        long now = System.nanoTime();
+        boolean schedule;
+        synchronized (this) {
+            Pending replaced = pending.get(npcName);
+            schedule = replaced == null || now - replaced.scheduledAt > RESCHEDULE_NANOS;
+            if (replaced != null) {
+                coalesced++;
+            }
+            pending.put(npcName, new Pending(skin, schedule ? now : replaced.scheduledAt));
+        }
+        if (schedule) {
+            try {
+                mainThread.execute(() -> apply(npcName));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pending.remove(npcName);
+                }
+                throw e;
+            }
+        }
+    }
+
+    synchronized SkinUpdateStats getStats() {
+        return new SkinUpdateStats(applied, coalesced, pending.size(), cacheHits, cacheMisses);
+    }
+
+    private void apply(String npcName) {
+        Skin skin;
+        synchronized (this) {
+            Pending latest = pending.remove(npcName);
+            if (latest == null) {
+                return;
+            }
+            skin = latest.skin;
+            applied++;
+        }
+        try {
+            applier.apply(npcName, skin.texture, skin.signature);
+        } catch (RuntimeException e) {
+            NSRaiAPI.logger().log(Level.WARNING, "Failed to update skin of NPC " + npcName, e);
+        }
+    }
+
+    private Skin resolve(String texture, String signature) {
+        String key = signature == null ? texture : texture + '|' + signature;
+        synchronized (this) {
+            Skin cached = textures.get(key);
+            if (cached != null) {
+                cacheHits++;
+                return cached;
+            }
+        }
+        // Decode outside the lock; two threads validating the same new skin at once is harmless
+        Skin skin = validate(texture, signature);
+        synchronized (this) {
+            cacheMisses++;
+            Skin raced = textures.putIfAbsent(key, skin);
+            return raced == null ? skin : raced;
+        }
+    }
+
+    private static Skin validate(String texture, String signature) {
+        String payload;
+        try {
+            payload = new String(Base64.getDecoder().decode(texture), StandardCharsets.UTF_8);
+            if (signature != null && !signature.isEmpty()) {
+                Base64.getDecoder().decode(signature);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Skin texture or signature is not valid base64", e);
+        }
+        if (!payload.contains("\"textures\"")) {
+            throw new IllegalArgumentException("Skin texture does not contain any textures");
+        }
+        return new Skin(texture, signature);
+    }
+
+    private static final class Pending {
+        final Skin skin;
+        final long scheduledAt;
+
+        Pending(Skin skin, long scheduledAt) {
+            this.skin = skin;
+            this.scheduledAt = scheduledAt;
+        }
+    }
+
+    private static final class Skin {
+        final String texture;
+        final String signature;
+
+        Skin(String texture, String signature) {
+            this.texture = texture;
+            this.signature = signature;
+        }
+    }
+}
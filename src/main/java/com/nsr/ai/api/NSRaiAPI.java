@@ -1,6 +1,7 @@
 package com.nsr.ai.api;
 
 import org.bukkit.entity.Player;
+import java.lang.invoke.MethodHandle;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -12,6 +13,8 @@ import com.nsr.ai.api.PetListener;
 import com.nsr.ai.api.NPCListener;
 import com.nsr.ai.api.GUIBuilder;
 import com.nsr.ai.api.GUIListener;
+import com.nsr.ai.api.events.AIPreRequestEvent;
+import com.nsr.ai.api.events.AIResponseEvent;
 
 
 /**
@@ -34,8 +37,67 @@ public final class NSRaiAPI {
      */
     public static final int API_VERSION = 2;
 
-    // Internal core plugin reference (set via reflection by the core plugin)
-    private static Object internalApiInstance; // Represents the internal com.nsr.ai.plugin.api.NSRaiAPI
+    // Internal core plugin reference (set via reflection by the core plugin) together with its pre-bound method table
+    private static volatile InternalDispatch dispatch; // Wraps the internal com.nsr.ai.plugin.api.NSRaiAPI
+
+    // Optional micro-batcher for single getAIResponse calls (null when disabled)
+    private static volatile AIRequestBatcher requestBatcher;
+
+    // Optional de-duplication of identical in-flight requests (null when disabled)
+    private static volatile InFlightCoalescer<Void> sendCoalescer;
+    private static volatile InFlightCoalescer<AIResponse> responseCoalescer;
+
+    // Optional admission control for chat requests (null when disabled)
+    private static volatile AdmissionController admissionController;
+
+    // Shared queue for completions that must run on the main server thread
+    private static final TickDispatcher mainThreadDispatcher = new TickDispatcher();
+
+    // Used by background threads while no core plugin is registered
+    private static final java.util.logging.Logger FALLBACK_LOGGER = java.util.logging.Logger.getLogger("NSR-AI");
+
+    // Versioned knowledge base snapshot and search index, loaded on first use (null until then)
+    private static volatile KnowledgeStore knowledgeStore;
+
+    // Automatic summarization of long conversations (null when disabled)
+    private static volatile SummarizationScheduler summarizationScheduler;
+    private static org.bukkit.scheduler.BukkitTask summarizationTask;
+    private static final long SUMMARY_POLL_TICKS = 20;
+    private static final long SUMMARY_TIMEOUT_MILLIS = 60_000;
+    // Players checked per sweep when the core cannot report history statistics and each check copies a history
+    private static final int FALLBACK_CHECKS_PER_SWEEP = 8;
+
+    // Shared memory owned by the API, persisted in the core plugin's data folder (created on first use)
+    private static final int SHARED_MEMORY_MAX_ENTRIES = 10_000;
+    private static final long SHARED_MEMORY_FLUSH_MILLIS = 5_000;
+    private static volatile SharedMemoryStore sharedMemory;
+
+    // Filtered pet event delivery, registered with the core on first subscription
+    private static volatile PetEventBus petEventBus;
+
+    // Per-NPC interaction routing, registered with the core on first use
+    private static volatile NPCRouter npcRouter;
+    private static volatile long npcThrottleMillis = 500;
+    // Chat cooldowns mirrored from the core, created on first use; a mirrored state is trusted for this long
+    private static volatile CooldownTracker cooldownTracker;
+    private static final long COOLDOWN_RESYNC_MILLIS = 1_000;
+    // Player flags mirrored for the getPlayerStates fallback, trusted as long as mirrored cooldowns
+    private static final java.util.concurrent.ConcurrentHashMap<UUID, PlayerFlags> playerFlags = new java.util.concurrent.ConcurrentHashMap<>();
+    // Drops what is mirrored about players who leave, so the mirrors only hold players who are online
+    private static final org.bukkit.event.Listener playerQuitListener = new org.bukkit.event.Listener() {
+        @org.bukkit.event.EventHandler(priority = org.bukkit.event.EventPriority.MONITOR)
+        public void onPlayerQuit(org.bukkit.event.player.PlayerQuitEvent event) {
+            UUID playerId = event.getPlayer().getUniqueId();
+            CooldownTracker tracker = cooldownTracker;
+            if (tracker != null) {
+                tracker.forget(playerId);
+            }
+            playerFlags.remove(playerId);
+        }
+    };
+    // The plugin the quit listener is registered for
+    private static volatile org.bukkit.plugin.Plugin playerQuitPlugin;
+    private static final NPCSkinQueue npcSkinQueue = new NPCSkinQueue(mainThreadDispatcher, NSRaiAPI::updateNPCSkin);
 
     private NSRaiAPI() {
         // Private constructor to prevent instantiation
@@ -43,67 +105,689 @@ public final class NSRaiAPI {
 
     /**
      * Internal method used by the NSR-AI core plugin to set the internal API instance.
+     * Every facade method is resolved and bound to the instance once here, so later calls
+     * dispatch directly through a {@link MethodHandle} instead of a reflective lookup.
      * Addon developers should NOT call this method.
      * @param instance The internal API instance.
      */
     public static void setInternalApiInstance(Object instance) {
-        NSRaiAPI.internalApiInstance = instance;
+        if (instance == null) {
+            // Flush while the core is still bound, so a failed write can still be logged through it
+            flushSharedMemory();
+        }
+        NSRaiAPI.dispatch = instance == null ? null : InternalDispatch.bind(instance);
+        if (instance == null) {
+            mainThreadDispatcher.reset();
+        } else {
+            mainThreadDispatcher.restart();
+        }
+        KnowledgeStore knowledge = knowledgeStore;
+        if (knowledge != null && instance != null) {
+            // Keep the listeners and the version sequence; only the differences to the new core's knowledge base are applied
+            try {
+                knowledge.reconcile(getAllKnowledge());
+            } catch (RuntimeException e) {
+                getLogger().log(java.util.logging.Level.WARNING, "Could not reload the knowledge base from the NSR-AI core plugin", e);
+            }
+        }
+        // Keep pet subscriptions and NPC routes; the bus and the router only need to be handed to the new core
+        PetEventBus bus = petEventBus;
+        if (bus != null && instance != null) {
+            reattach(Feature.PETS, InternalMethod.REGISTER_PET_LISTENER, bus);
+        }
+        NPCRouter router = npcRouter;
+        if (router != null && instance != null) {
+            reattach(Feature.NPCS, InternalMethod.REGISTER_NPC_LISTENER, router);
+        }
+        // Keep cooldown listeners, but forget the states mirrored from the previous core
+        CooldownTracker cooldowns = cooldownTracker;
+        if (cooldowns != null) {
+            cooldowns.clear();
+        }
+        playerFlags.clear();
+        playerQuitPlugin = null;
+        if (instance != null && cooldowns != null) {
+            forgetPlayersOnQuit();
+        }
+    }
+
+    // Registers a facade-side listener that outlives core reloads with the newly registered core
+    private static void reattach(Feature feature, InternalMethod method, Object listener) {
+        if (!dispatch.capabilities.supports(feature)) {
+            getLogger().warning("The NSR-AI core plugin no longer supports " + feature + "; existing subscriptions will receive no events.");
+            return;
+        }
+        try {
+            invoke(method, listener);
+        } catch (RuntimeException e) {
+            getLogger().log(java.util.logging.Level.WARNING, "Could not register with the NSR-AI core plugin for " + feature, e);
+        }
+    }
+
+    /**
+     * Gets the capabilities of the running NSR-AI core plugin.
+     * The snapshot is computed once when the core plugin registers with the API,
+     * so addons may call this as often as they like to detect optional features without catching exceptions.
+     * @return The current capabilities, or {@link Capabilities#NONE} if the core plugin is not initialized.
+     */
+    public static Capabilities capabilities() {
+        InternalDispatch current = dispatch;
+        return current == null ? Capabilities.NONE : current.capabilities;
     }
 
     /**
-     * Calls an internal method of the NSR-AI core plugin via reflection.
-     * This method handles the forwarding of public API calls to the actual internal implementation.
-     * @param methodName The name of the internal method to call.
-     * @param paramTypes An array of Class objects representing the parameter types of the method.
-     * @param args The arguments to pass to the method.
-     * @param <T> The return type of the method.
-     * @return The result of the internal method call.
-     * @throws IllegalStateException if the internal API is not initialized, the method is not found,
-     *                                an access error occurs, or the internal method throws an exception.
+     * Ensures a feature is supported before forwarding a call to the core plugin.
+     * @param feature The feature the call belongs to.
+     * @param message The message of the exception thrown if the feature is not supported.
+     * @throws IllegalStateException if the core plugin is not initialized or does not support the feature.
      */
-    private static <T> T callInternalMethod(String methodName, Class<?>[] paramTypes, Object... args) {
-        if (internalApiInstance == null) {
+    private static void requireFeature(Feature feature, String message) {
+        InternalDispatch current = dispatch;
+        if (current == null) {
             throw new IllegalStateException("NSR-AI core plugin not initialized or API not ready.");
         }
+        if (!current.capabilities.supports(feature)) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    /**
+     * Resolves the bound handle for an internal method.
+     * @param method The internal method to look up.
+     * @return The handle bound to the internal API instance.
+     * @throws IllegalStateException if the internal API is not initialized or the method could not be bound.
+     */
+    private static MethodHandle handle(InternalMethod method) {
+        InternalDispatch current = dispatch;
+        if (current == null) {
+            throw new IllegalStateException("NSR-AI core plugin not initialized or API not ready.");
+        }
+        MethodHandle handle = current.handles[method.ordinal()];
+        if (handle == null) {
+            throw new IllegalStateException(current.failures[method.ordinal()]);
+        }
+        return handle;
+    }
+
+    /**
+     * Translates a throwable raised by an internal method into the exception contract of the public API.
+     * Runtime exceptions and errors are rethrown unchanged, checked exceptions are wrapped.
+     */
+    private static IllegalStateException rethrow(InternalMethod method, Throwable t) {
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IllegalStateException("Error calling internal NSR-AI API method: " + method.methodName, t);
+    }
+
+    // The invoke helpers below call the bound handles with an exact, fixed-arity signature,
+    // so no argument array is allocated and no reflective lookup or access check happens per call.
+    // The handles are read from a volatile field, so the JIT treats them as ordinary values rather than
+    // constants and does not inline the core method itself; the dispatch is still a direct handle invocation.
+    // Each call is timed into a preallocated per-method recorder, which does not allocate either.
+
+    @SuppressWarnings("unchecked")
+    private static <T> T invoke(InternalMethod method) {
+        MethodHandle handle = handle(method);
+        LatencyRecorder timer = MetricsRegistry.dispatch(method);
+        long start = timer.start();
         try {
-            // Using reflection to call the internal API methods
-            // This ensures the public API is a thin facade over the internal implementation
-            java.lang.reflect.Method method = internalApiInstance.getClass().getMethod(methodName, paramTypes);
-            return (T) method.invoke(internalApiInstance, args);
-        } catch (NoSuchMethodException e) {
-            throw new IllegalStateException("NSR-AI core plugin does not support method: " + methodName + ". API mismatch?", e);
-        } catch (java.lang.reflect.InvocationTargetException e) {
-            // Unwrap the real exception thrown by the internal method
-            if (e.getTargetException() instanceof RuntimeException) {
-                throw (RuntimeException) e.getTargetException();
-            } else {
-                throw new IllegalStateException("Error calling internal NSR-AI API method: " + methodName, e.getTargetException());
-            }
-        } catch (IllegalAccessException e) {
-            throw new IllegalStateException("Cannot access internal NSR-AI API method: " + methodName, e);
+            T result = (T) (Object) handle.invokeExact();
+            timer.stop(start);
+            return result;
+        } catch (Throwable t) {
+            timer.fail(start);
+            throw rethrow(method, t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T invoke(InternalMethod method, Object a) {
+        MethodHandle handle = handle(method);
+        LatencyRecorder timer = MetricsRegistry.dispatch(method);
+        long start = timer.start();
+        try {
+            T result = (T) (Object) handle.invokeExact(a);
+            timer.stop(start);
+            return result;
+        } catch (Throwable t) {
+            timer.fail(start);
+            throw rethrow(method, t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T invoke(InternalMethod method, Object a, Object b) {
+        MethodHandle handle = handle(method);
+        LatencyRecorder timer = MetricsRegistry.dispatch(method);
+        long start = timer.start();
+        try {
+            T result = (T) (Object) handle.invokeExact(a, b);
+            timer.stop(start);
+            return result;
+        } catch (Throwable t) {
+            timer.fail(start);
+            throw rethrow(method, t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T invoke(InternalMethod method, Object a, Object b, Object c) {
+        MethodHandle handle = handle(method);
+        LatencyRecorder timer = MetricsRegistry.dispatch(method);
+        long start = timer.start();
+        try {
+            T result = (T) (Object) handle.invokeExact(a, b, c);
+            timer.stop(start);
+            return result;
+        } catch (Throwable t) {
+            timer.fail(start);
+            throw rethrow(method, t);
+        }
+    }
+
+    private static boolean invokeBoolean(InternalMethod method, Object a) {
+        MethodHandle handle = handle(method);
+        LatencyRecorder timer = MetricsRegistry.dispatch(method);
+        long start = timer.start();
+        try {
+            boolean result = (boolean) handle.invokeExact(a);
+            timer.stop(start);
+            return result;
+        } catch (Throwable t) {
+            timer.fail(start);
+            throw rethrow(method, t);
+        }
+    }
+
+    private static boolean invokeBoolean(InternalMethod method, Object a, Object b) {
+        MethodHandle handle = handle(method);
+        LatencyRecorder timer = MetricsRegistry.dispatch(method);
+        long start = timer.start();
+        try {
+            boolean result = (boolean) handle.invokeExact(a, b);
+            timer.stop(start);
+            return result;
+        } catch (Throwable t) {
+            timer.fail(start);
+            throw rethrow(method, t);
+        }
+    }
+
+    private static long invokeLong(InternalMethod method, Object a) {
+        MethodHandle handle = handle(method);
+        LatencyRecorder timer = MetricsRegistry.dispatch(method);
+        long start = timer.start();
+        try {
+            long result = (long) handle.invokeExact(a);
+            timer.stop(start);
+            return result;
+        } catch (Throwable t) {
+            timer.fail(start);
+            throw rethrow(method, t);
         }
     }
 
     // --- Chat API ---
     /**
      * Sends a message from a player to the AI. This operation is asynchronous.
+     * An {@link AIPreRequestEvent} is fired first; if a listener cancels it, nothing is sent.
      * @param player The player sending the message.
      * @param message The AI message to send.
-     * @return A CompletableFuture that completes when the message has been processed by the AI.
+     * @return A CompletableFuture that completes when the message has been processed by the AI,
+     *         or exceptionally with a {@link java.util.concurrent.RejectedExecutionException} if admission control rejected it
+     *         or a {@link java.util.concurrent.CancellationException} if an {@link AIPreRequestEvent} listener cancelled it.
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the chat service is not available.
      */
     public static CompletableFuture<Void> sendMessageToAI(Player player, AIMessage message) {
-        return callInternalMethod("sendMessageToAI", new Class<?>[]{Player.class, AIMessage.class}, player, message);
+        AIMessage request = firePreRequest(player, java.util.Objects.requireNonNull(message, "message"));
+        if (request == null) {
+            return cancelledRequest();
+        }
+        long start = MetricsRegistry.AI_SEND.start();
+        try {
+            return timed(MetricsRegistry.AI_SEND, start, submitMessageToAI(player, request));
+        } catch (RuntimeException e) {
+            MetricsRegistry.AI_SEND.fail(start);
+            throw e;
+        }
+    }
+
+    private static CompletableFuture<Void> submitMessageToAI(Player player, AIMessage request) {
+        InFlightCoalescer<Void> coalescer = sendCoalescer;
+        CompletableFuture<Void> result;
+        if (coalescer != null && player != null) {
+            result = coalescer.submit(player.getUniqueId(), request.getContent(), () -> admitMessageToAI(player, request));
+        } else {
+            result = admitMessageToAI(player, request);
+        }
+        if (cooldownTracker != null && player != null) {
+            // The core (re)starts the player's cooldown for this message; mirror it once instead of being polled every tick
+            result.whenComplete((ignored, error) -> syncCooldown(player));
+        }
+        return result;
+    }
+
+    private static CompletableFuture<Void> admitMessageToAI(Player player, AIMessage message) {
+        AdmissionController controller = admissionController;
+        if (controller != null) {
+            return controller.submit(player == null ? null : player.getUniqueId(),
+                    () -> invoke(InternalMethod.SEND_MESSAGE_TO_AI, player, message));
+        }
+        return invoke(InternalMethod.SEND_MESSAGE_TO_AI, player, message);
     }
 
     /**
      * Gets an asynchronous AI response to a given message.
+     * An {@link AIPreRequestEvent} is fired before the request and an {@link AIResponseEvent} once the response arrives.
      * @param message The AI message to get a response for.
-     * @return A CompletableFuture that will contain the AI's response.
+     * @return A CompletableFuture that will contain the AI's response,
+     *         or completes exceptionally with a {@link java.util.concurrent.RejectedExecutionException} if admission control rejected it
+     *         or a {@link java.util.concurrent.CancellationException} if an {@link AIPreRequestEvent} listener cancelled it.
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the chat service is not available.
      */
     public static CompletableFuture<AIResponse> getAIResponse(AIMessage message) {
-        return callInternalMethod("getAIResponse", new Class<?>[]{AIMessage.class}, message);
+        AIMessage request = firePreRequest(null, java.util.Objects.requireNonNull(message, "message"));
+        if (request == null) {
+            return cancelledRequest();
+        }
+        long start = MetricsRegistry.AI_RESPONSE.start();
+        try {
+            return timed(MetricsRegistry.AI_RESPONSE, start, submitAIResponse(request));
+        } catch (RuntimeException e) {
+            MetricsRegistry.AI_RESPONSE.fail(start);
+            throw e;
+        }
+    }
+
+    private static CompletableFuture<AIResponse> submitAIResponse(AIMessage request) {
+        InFlightCoalescer<AIResponse> coalescer = responseCoalescer;
+        if (coalescer != null && request.hasSender()) {
+            // The response event fires once on the shared request, not once for every caller joining it
+            return coalescer.submit(request.getSenderId(), request.getContent(), () -> withResponseEvent(request, admitAIResponse(request)));
+        }
+        return withResponseEvent(request, admitAIResponse(request));
+    }
+
+    /**
+     * Records the completion of a pending request into a latency recorder.
+     * @param timer The recorder.
+     * @param start The start time returned by {@link LatencyRecorder#start()}.
+     * @param future The pending request.
+     * @return The same future.
+     */
+    private static <T> CompletableFuture<T> timed(LatencyRecorder timer, long start, CompletableFuture<T> future) {
+        if (start == LatencyRecorder.DISABLED) {
+            return future;
+        }
+        if (future == null) {
+            timer.stop(start);
+            return null;
+        }
+        future.whenComplete((result, error) -> {
+            if (error == null) {
+                timer.stop(start);
+            } else {
+                timer.fail(start);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Fires an {@link AIPreRequestEvent} for a message, unless nobody listens to it.
+     * @param player The sending player, or null to look it up from the message's sender.
+     * @param message The message about to be sent.
+     * @return The message to send, rewritten if a listener changed it, or null if a listener cancelled the request.
+     */
+    private static AIMessage firePreRequest(Player player, AIMessage message) {
+        if (AIPreRequestEvent.getHandlerList().getRegisteredListeners().length == 0) {
+            return message;
+        }
+        Player sender = player != null || !message.hasSender() ? player : org.bukkit.Bukkit.getPlayer(message.getSenderId());
+        AIPreRequestEvent event = new AIPreRequestEvent(sender, message.getContent(), !org.bukkit.Bukkit.isPrimaryThread());
+        org.bukkit.Bukkit.getPluginManager().callEvent(event);
+        if (event.isCancelled()) {
+            return null;
+        }
+        if (java.util.Objects.equals(event.getMessage(), message.getContent())) {
+            return message;
+        }
+        return new AIMessage(event.getMessage(), message.getSenderId(), message.getTimestamp());
+    }
+
+    /**
+     * Fires an {@link AIResponseEvent} when a response arrives, unless nobody listens to it.
+     * @param message The message the response answers.
+     * @param future The pending response.
+     * @return A future of the response, replaced if a listener changed it.
+     */
+    private static CompletableFuture<AIResponse> withResponseEvent(AIMessage message, CompletableFuture<AIResponse> future) {
+        if (AIResponseEvent.getHandlerList().getRegisteredListeners().length == 0) {
+            return future;
+        }
+        return future.thenApply(response -> {
+            if (response == null) {
+                return null;
+            }
+            String text = fireResponseEvent(message, response.getResponse());
+            if (java.util.Objects.equals(text, response.getResponse())) {
+                return response;
+            }
+            return new AIResponse(text, response.isSuccess());
+        });
+    }
+
+    // Returns null when nobody listens, so streams need not collect their chunks
+    private static java.util.function.Consumer<String> streamResponseEvent(AIMessage message) {
+        if (AIResponseEvent.getHandlerList().getRegisteredListeners().length == 0) {
+            return null;
+        }
+        return text -> fireResponseEvent(message, text);
+    }
+
+    private static String fireResponseEvent(AIMessage message, String response) {
+        Player sender = message.hasSender() ? org.bukkit.Bukkit.getPlayer(message.getSenderId()) : null;
+        AIResponseEvent event = new AIResponseEvent(sender, message.getContent(), response,
+                !org.bukkit.Bukkit.isPrimaryThread());
+        org.bukkit.Bukkit.getPluginManager().callEvent(event);
+        return event.getResponse();
+    }
+
+    private static <T> CompletableFuture<T> cancelledRequest() {
+        return CompletableFuture.failedFuture(
+                new java.util.concurrent.CancellationException("Request cancelled by an AIPreRequestEvent listener"));
+    }
+
+    private static CompletableFuture<AIResponse> admitAIResponse(AIMessage message) {
+        AdmissionController controller = admissionController;
+        if (controller != null) {
+            return controller.submit(message.getSenderId(), () -> requestAIResponse(message));
+        }
+        return requestAIResponse(message);
+    }
+
+    private static CompletableFuture<AIResponse> requestAIResponse(AIMessage message) {
+        AIRequestBatcher batcher;
+        while ((batcher = requestBatcher) != null) {
+            CompletableFuture<AIResponse> batched = batcher.submit(message);
+            if (batched != null) {
+                return batched;
+            }
+            // Batching was disabled or reconfigured after the batcher was read; follow the current configuration
+        }
+        long start = MetricsRegistry.AI_UPSTREAM.start();
+        try {
+            return timed(MetricsRegistry.AI_UPSTREAM, start, invoke(InternalMethod.GET_AI_RESPONSE, message));
+        } catch (RuntimeException e) {
+            MetricsRegistry.AI_UPSTREAM.fail(start);
+            throw e;
+        }
+    }
+
+    /**
+     * Gets an AI response as a stream of chunks, delivered as soon as the AI produces them.
+     * Addons can render partial output (e.g. into chat or the action bar) before the full response is ready.
+     * The publisher honours backpressure: chunks are only delivered as the subscriber requests them.
+     * Each returned publisher accepts a single subscriber. Chunks are delivered on the thread that produces them,
+     * not on the main server thread. Native streams pass the same admission policy as {@link #getAIResponse(AIMessage)}
+     * once subscribed to, and hold their slot until they end; unlike complete responses, they are never coalesced.
+     * If the core plugin does not support {@link Feature#STREAMING_CHAT}, the complete response is delivered
+     * as a single final chunk. An unsuccessful response is signalled through {@code onError}.
+     * @param message The AI message to get a response for.
+     * @return A publisher of response chunks, the last of which has {@link AIResponseChunk#isLast()} set.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the chat service is not available.
+     */
+    public static java.util.concurrent.Flow.Publisher<AIResponseChunk> streamAIResponse(AIMessage message) {
+        InternalDispatch current = dispatch;
+        if (current != null && current.isBound(InternalMethod.STREAM_AI_RESPONSE)) {
+            AIMessage request = firePreRequest(null, java.util.Objects.requireNonNull(message, "message"));
+            if (request == null) {
+                return new SingleResponsePublisher(cancelledRequest());
+            }
+            return new AdmittedStreamPublisher(stream -> admitStream(request, stream),
+                    () -> invoke(InternalMethod.STREAM_AI_RESPONSE, request), streamResponseEvent(request));
+        }
+        return new SingleResponsePublisher(getAIResponse(message));
+    }
+
+    // Streams are admitted and timed like complete responses, but not coalesced: every subscriber needs its own chunks
+    private static CompletableFuture<Void> admitStream(AIMessage request, java.util.function.Supplier<CompletableFuture<Void>> stream) {
+        java.util.function.Supplier<CompletableFuture<Void>> upstream = () -> {
+            long start = MetricsRegistry.AI_UPSTREAM.start();
+            try {
+                return timed(MetricsRegistry.AI_UPSTREAM, start, stream.get());
+            } catch (RuntimeException e) {
+                MetricsRegistry.AI_UPSTREAM.fail(start);
+                throw e;
+            }
+        };
+        long start = MetricsRegistry.AI_RESPONSE.start();
+        try {
+            AdmissionController controller = admissionController;
+            return timed(MetricsRegistry.AI_RESPONSE, start,
+                    controller != null ? controller.submit(request.getSenderId(), upstream) : upstream.get());
+        } catch (RuntimeException e) {
+            MetricsRegistry.AI_RESPONSE.fail(start);
+            throw e;
+        }
+    }
+
+    /**
+     * Gets asynchronous AI responses for several messages in a single call.
+     * If the core plugin supports {@link Feature#BATCHED_CHAT}, the messages are processed as one internal batch;
+     * otherwise they are forwarded one at a time.
+     * @param messages The AI messages to get responses for.
+     * @return One CompletableFuture per message, in the same order as the messages.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the chat service is not available.
+     */
+    public static java.util.List<CompletableFuture<AIResponse>> getAIResponses(java.util.List<AIMessage> messages) {
+        if (messages.isEmpty()) {
+            return java.util.Collections.emptyList();
+        }
+        // Filter the batch first so cancelled messages never reach the core
+        java.util.List<AIMessage> requests = new java.util.ArrayList<>(messages.size());
+        java.util.List<AIMessage> batch = new java.util.ArrayList<>(messages.size());
+        for (AIMessage message : messages) {
+            AIMessage request = firePreRequest(null, java.util.Objects.requireNonNull(message, "message"));
+            requests.add(request);
+            if (request != null) {
+                batch.add(request);
+            }
+        }
+        java.util.List<CompletableFuture<AIResponse>> responses = batch.isEmpty() ? java.util.Collections.emptyList() : requestAIResponses(batch);
+        java.util.List<CompletableFuture<AIResponse>> futures = new java.util.ArrayList<>(requests.size());
+        int next = 0;
+        for (AIMessage request : requests) {
+            futures.add(request == null ? cancelledRequest() : withResponseEvent(request, responses.get(next++)));
+        }
+        return futures;
+    }
+
+    // Sends a batch to the core without firing events; also the sink of the micro-batcher, whose requests already fired theirs
+    private static java.util.List<CompletableFuture<AIResponse>> requestAIResponses(java.util.List<AIMessage> batch) {
+        java.util.List<CompletableFuture<AIResponse>> responses;
+        InternalDispatch current = dispatch;
+        if (current != null && current.isBound(InternalMethod.GET_AI_RESPONSES)) {
+            responses = invoke(InternalMethod.GET_AI_RESPONSES, java.util.List.copyOf(batch));
+            if (responses == null || responses.size() != batch.size()) {
+                throw new IllegalStateException("NSR-AI core plugin returned " + (responses == null ? 0 : responses.size())
+                        + " responses for a batch of " + batch.size() + " messages. API mismatch?");
+            }
+        } else {
+            responses = new java.util.ArrayList<>(batch.size());
+            for (AIMessage message : batch) {
+                responses.add(invoke(InternalMethod.GET_AI_RESPONSE, message));
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Gets asynchronous AI responses for several messages, combined into a single future.
+     * @param messages The AI messages to get responses for.
+     * @return A CompletableFuture that completes with all responses, in the same order as the messages,
+     *         or exceptionally if any of the requests fails.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the chat service is not available.
+     * @see #getAIResponses(java.util.List)
+     */
+    public static CompletableFuture<java.util.List<AIResponse>> getAllAIResponses(java.util.List<AIMessage> messages) {
+        java.util.List<CompletableFuture<AIResponse>> futures = getAIResponses(messages);
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    java.util.List<AIResponse> responses = new java.util.ArrayList<>(futures.size());
+                    for (CompletableFuture<AIResponse> future : futures) {
+                        responses.add(future.join());
+                    }
+                    return responses;
+                });
+    }
+
+    /**
+     * Enables micro-batching of {@link #getAIResponse(AIMessage)} calls.
+     * Calls made within {@code windowMillis} of each other are gathered and sent to the core plugin
+     * as one batch, as {@link #getAIResponses(java.util.List)} would, but events are fired only once per call.
+     * A batch is sent early once it holds {@code maxBatchSize} messages. This raises throughput under bursty load at the cost of up to
+     * {@code windowMillis} of added latency per request.
+     * Calling this again replaces the previous configuration after flushing any pending batch.
+     * Micro-batching requires {@link Feature#BATCHED_CHAT}; without it, batches would be forwarded one message
+     * at a time and only add latency.
+     * @param windowMillis The maximum time a request waits for others to join its batch, in milliseconds.
+     * @param maxBatchSize The number of requests that triggers an immediate flush.
+     * @throws IllegalArgumentException if {@code windowMillis} is not positive or {@code maxBatchSize} is less than 1.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized or does not support {@link Feature#BATCHED_CHAT}.
+     */
+    public static synchronized void enableMicroBatching(long windowMillis, int maxBatchSize) {
+        requireFeature(Feature.BATCHED_CHAT, "Batched chat not supported by this NSR-AI version; micro-batching would only add latency.");
+        AIRequestBatcher previous = requestBatcher;
+        requestBatcher = new AIRequestBatcher(windowMillis, maxBatchSize, NSRaiAPI::requestAIResponses);
+        if (previous != null) {
+            previous.shutdown();
+        }
+    }
+
+    /**
+     * Disables micro-batching. Any pending batch is sent immediately.
+     */
+    public static synchronized void disableMicroBatching() {
+        AIRequestBatcher previous = requestBatcher;
+        requestBatcher = null;
+        if (previous != null) {
+            previous.shutdown();
+        }
+    }
+
+    /**
+     * Enables coalescing of duplicate in-flight requests.
+     * While a request from a player is in flight, identical requests from the same player
+     * (same sender UUID and the same content, ignoring case and surrounding or repeated whitespace)
+     * share its result instead of starting new work in the core plugin.
+     * This applies to both {@link #sendMessageToAI(Player, AIMessage)} and {@link #getAIResponse(AIMessage)}.
+     * Has no effect if coalescing is already enabled.
+     */
+    public static synchronized void enableRequestCoalescing() {
+        if (responseCoalescer == null) {
+            sendCoalescer = new InFlightCoalescer<>();
+            responseCoalescer = new InFlightCoalescer<>();
+        }
+    }
+
+    /**
+     * Disables coalescing of duplicate in-flight requests and resets its counters.
+     * Requests already in flight still complete for every caller that joined them.
+     */
+    public static synchronized void disableRequestCoalescing() {
+        sendCoalescer = null;
+        responseCoalescer = null;
+    }
+
+    /**
+     * Gets the counters of the request coalescing layer.
+     * @return A snapshot of the counters; all zero if coalescing is disabled.
+     */
+    public static CoalescingStats getCoalescingStats() {
+        InFlightCoalescer<Void> send = sendCoalescer;
+        InFlightCoalescer<AIResponse> response = responseCoalescer;
+        if (send == null || response == null) {
+            return new CoalescingStats(0, 0, 0);
+        }
+        return new CoalescingStats(send.getUpstreamCount() + response.getUpstreamCount(),
+                send.getCollapsedCount() + response.getCollapsedCount(),
+                send.getInFlightCount() + response.getInFlightCount());
+    }
+
+    /**
+     * Sets the admission control policy for {@link #sendMessageToAI(Player, AIMessage)} and {@link #getAIResponse(AIMessage)}.
+     * Requests beyond the policy's limits are rejected immediately instead of piling up as pending futures.
+     * Requests admitted under a previous policy still complete normally.
+     * @param policy The policy to enforce, or null to disable admission control.
+     */
+    public static synchronized void setAdmissionPolicy(AdmissionPolicy policy) {
+        admissionController = policy == null ? null : new AdmissionController(policy);
+    }
+
+    /**
+     * Gets the admission control policy currently in effect.
+     * @return An Optional containing the policy, or empty if admission control is disabled.
+     */
+    public static Optional<AdmissionPolicy> getAdmissionPolicy() {
+        AdmissionController controller = admissionController;
+        return controller == null ? Optional.empty() : Optional.of(controller.getPolicy());
+    }
+
+    /**
+     * Gets the current admission control counters, such as queue depth and rejections.
+     * @return A snapshot of the counters; all zero if admission control is disabled.
+     */
+    public static AdmissionStats getAdmissionStats() {
+        AdmissionController controller = admissionController;
+        return controller == null ? new AdmissionStats(0, 0, 0, 0, 0) : controller.getStats();
+    }
+
+    // --- Main Thread Dispatch ---
+    /**
+     * Gets an executor that runs tasks on the main server thread.
+     * All tasks share one queue that is drained once per tick under a time budget
+     * (see {@link #setMainThreadBudgetMicros(long)}); tasks that do not fit are carried over to the next tick.
+     * Use it with the {@code *Async} methods of {@link CompletableFuture}, e.g.
+     * {@code getAIResponse(message).thenAcceptAsync(response -> ..., NSRaiAPI.mainThreadExecutor())},
+     * instead of scheduling a separate Bukkit task for every completion.
+     * @return The main-thread executor.
+     */
+    public static java.util.concurrent.Executor mainThreadExecutor() {
+        return mainThreadDispatcher;
+    }
+
+    /**
+     * Returns a future that completes on the main server thread once the given future completes.
+     * Dependent stages attached to the returned future before it completes therefore also run on the main thread.
+     * @param future The future to hop to the main thread, typically an AI response.
+     * @param <T> The result type of the future.
+     * @return A CompletableFuture with the same result, completed on the main thread.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized when the first task is queued.
+     */
+    public static <T> CompletableFuture<T> onMainThread(CompletableFuture<T> future) {
+        return future.whenCompleteAsync((value, error) -> { }, mainThreadDispatcher);
+    }
+
+    /**
+     * Sets how much time per server tick may be spent running main-thread completions.
+     * @param budgetMicros The per-tick budget in microseconds (default 2000).
+     * @throws IllegalArgumentException if the budget is less than 1 microsecond.
+     */
+    public static void setMainThreadBudgetMicros(long budgetMicros) {
+        mainThreadDispatcher.setBudgetMicros(budgetMicros);
+    }
+
+    /**
+     * Gets statistics of the main-thread completion dispatcher, including how far its backlog lags behind.
+     * @return A snapshot of the dispatcher state.
+     */
+    public static DispatcherStats getMainThreadDispatcherStats() {
+        return mainThreadDispatcher.getStats();
     }
 
     // --- Pets API ---
@@ -112,25 +796,93 @@ public final class NSRaiAPI {
      * Returns an empty Optional if the pet service is not available or no data is found.
      * @param owner The UUID of the pet owner.
      * @return An Optional containing PetDataSnapshot if available, otherwise empty.
-     * @throws IllegalStateException if the NSR-AI core plugin is not initialized.
      */
     public static Optional<PetDataSnapshot> getPetData(UUID owner) {
+        if (!capabilities().supports(Feature.PETS)) {
+            return Optional.empty();
+        }
         try {
-            return Optional.ofNullable(callInternalMethod("getPetData", new Class<?>[]{UUID.class}, owner));
+            return Optional.ofNullable(invoke(InternalMethod.GET_PET_DATA, owner));
         } catch (IllegalStateException e) {
-            // If the internal method throws an IllegalStateException (e.g., service not available),
-            // we return Optional.empty() as per requirement.
+            // Cores that do not report their available services may still reject the call at runtime.
             return Optional.empty();
         }
     }
 
+    /**
+     * Retrieves snapshots of pet data for many owners in a single call, e.g. for a dashboard of all online players.
+     * Returns an empty map if the pet service is not available.
+     * @param owners The UUIDs of the pet owners.
+     * @return A map of owner UUID to PetDataSnapshot, containing only owners for whom data was found.
+     */
+    public static java.util.Map<UUID, PetDataSnapshot> getPetData(java.util.Collection<UUID> owners) {
+        if (!capabilities().supports(Feature.PETS) || owners.isEmpty()) {
+            return java.util.Collections.emptyMap();
+        }
+        InternalDispatch current = dispatch;
+        if (current != null && current.isBound(InternalMethod.GET_PET_DATA_BULK)) {
+            try {
+                java.util.Map<UUID, PetDataSnapshot> snapshots = invoke(InternalMethod.GET_PET_DATA_BULK, owners);
+                return snapshots == null ? java.util.Collections.emptyMap() : snapshots;
+            } catch (IllegalStateException e) {
+                return java.util.Collections.emptyMap();
+            }
+        }
+        java.util.Map<UUID, PetDataSnapshot> snapshots = new java.util.HashMap<>();
+        for (UUID owner : owners) {
+            getPetData(owner).ifPresent(snapshot -> snapshots.put(owner, snapshot));
+        }
+        return snapshots;
+    }
+
     /**
      * Registers a listener to receive pet-related events.
      * @param listener The PetListener instance to register.
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the pet service is not available.
      */
     public static void registerPetListener(PetListener listener) {
-        callInternalMethod("registerPetListener", new Class<?>[]{PetListener.class}, listener);
+        requireFeature(Feature.PETS, "Pet system not supported by this NSR-AI version.");
+        invoke(InternalMethod.REGISTER_PET_LISTENER, MetricsRegistry.timedPet(listener));
+    }
+
+    /**
+     * Subscribes to pet events, filtered by owner and event kind.
+     * Unlike {@link #registerPetListener(PetListener)}, the listener is only called for matching events, and always
+     * asynchronously on a pet event worker thread, in the order the events occurred. Each subscription buffers up to
+     * 256 undelivered events; if the listener falls further behind, the oldest events are dropped, so a slow listener
+     * never stalls the pet system or other subscribers.
+     * <pre>{@code
+     * PetSubscription subscription = NSRaiAPI.subscribePetEvents(player.getUniqueId(),
+     *         EnumSet.of(PetEventKind.UPDATE), true, pet -> updateSidebar(pet));
+     * // later: subscription.cancel();
+     * }</pre>
+     * Subscriptions stay active when the core plugin reloads.
+     * Listeners should implement {@link PetListener#onPetEvent(PetEventKind, PetDataSnapshot)} to receive the event kind.
+     * @param owner The UUID of the owner whose pets to watch, or null for the pets of all owners.
+     * @param kinds The event kinds to receive; an empty set receives all kinds.
+     * @param coalesce Whether to deliver only the latest snapshot when several events of the same kind for the same owner are waiting.
+     * @param listener The PetListener instance to notify.
+     * @return The subscription, used to cancel it.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the pet service is not available.
+     */
+    public static PetSubscription subscribePetEvents(UUID owner, java.util.Set<PetEventKind> kinds, boolean coalesce, PetListener listener) {
+        return petEventBus().subscribe(owner, kinds, coalesce, listener);
+    }
+
+    private static PetEventBus petEventBus() {
+        PetEventBus bus = petEventBus;
+        if (bus == null) {
+            synchronized (NSRaiAPI.class) {
+                bus = petEventBus;
+                if (bus == null) {
+                    requireFeature(Feature.PETS, "Pet system not supported by this NSR-AI version.");
+                    bus = new PetEventBus();
+                    invoke(InternalMethod.REGISTER_PET_LISTENER, bus);
+                    petEventBus = bus;
+                }
+            }
+        }
+        return bus;
     }
 
     // --- NPC API ---
@@ -140,7 +892,77 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the NPC service is not available.
      */
     public static void registerNPCListener(NPCListener listener) {
-        callInternalMethod("registerNPCListener", new Class<?>[]{NPCListener.class}, listener);
+        requireFeature(Feature.NPCS, "NPC system not supported by this NSR-AI version.");
+        invoke(InternalMethod.REGISTER_NPC_LISTENER, MetricsRegistry.timedNPC(listener));
+    }
+
+    /**
+     * Registers a listener for interactions with one NPC.
+     * Unlike {@link #registerNPCListener(NPCListener)}, the listener is only called for the given NPC, so it does not
+     * need to compare names, and interactions are throttled per player (see {@link #setNPCInteractionThrottle(long)}).
+     * The listener stays registered when the core plugin reloads.
+     * @param npcName The name of the NPC to listen to.
+     * @param listener The NPCListener instance to register.
+     * @param async Whether to call the listener on an async scheduler thread instead of the thread reporting the interaction.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the NPC service is not available.
+     */
+    public static void registerNPCListener(String npcName, NPCListener listener, boolean async) {
+        npcRouter().register(npcName, listener, async);
+    }
+
+    /**
+     * Unregisters a listener registered with {@link #registerNPCListener(String, NPCListener, boolean)}.
+     * @param npcName The name of the NPC the listener was registered for.
+     * @param listener The NPCListener instance to unregister.
+     */
+    public static void unregisterNPCListener(String npcName, NPCListener listener) {
+        NPCRouter router = npcRouter;
+        if (router != null) {
+            router.unregister(npcName, listener);
+        }
+    }
+
+    /**
+     * Sets the minimum interval between two NPC interactions of the same player.
+     * Interactions within the interval are dropped before any per-NPC listener runs. Defaults to 500 ms.
+     * @param millis The interval in milliseconds, or 0 to disable throttling.
+     * @throws IllegalArgumentException if {@code millis} is negative.
+     */
+    public static void setNPCInteractionThrottle(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Throttle interval must not be negative: " + millis);
+        }
+        npcThrottleMillis = millis;
+        NPCRouter router = npcRouter;
+        if (router != null) {
+            router.setThrottleMillis(millis);
+        }
+    }
+
+    /**
+     * Gets the number of NPC interactions dropped by throttling since the first per-NPC listener was registered.
+     * @return The throttled interaction count.
+     */
+    public static long getThrottledNPCInteractions() {
+        NPCRouter router = npcRouter;
+        return router == null ? 0 : router.getThrottledCount();
+    }
+
+    private static NPCRouter npcRouter() {
+        NPCRouter router = npcRouter;
+        if (router == null) {
+            synchronized (NSRaiAPI.class) {
+                router = npcRouter;
+                if (router == null) {
+                    requireFeature(Feature.NPCS, "NPC system not supported by this NSR-AI version.");
+                    router = new NPCRouter();
+                    router.setThrottleMillis(npcThrottleMillis);
+                    invoke(InternalMethod.REGISTER_NPC_LISTENER, router);
+                    npcRouter = router;
+                }
+            }
+        }
+        return router;
     }
 
     /**
@@ -151,7 +973,32 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the NPC service is not available.
      */
     public static void updateNPCSkin(String npcName, String texture, String signature) {
-        callInternalMethod("updateNPCSkin", new Class<?>[]{String.class, String.class, String.class}, npcName, texture, signature);
+        requireFeature(Feature.NPCS, "NPC system not supported by this NSR-AI version.");
+        invoke(InternalMethod.UPDATE_NPC_SKIN, npcName, texture, signature);
+    }
+
+    /**
+     * Queues a skin update for an NPC, to be applied on the main server thread within the per-tick budget
+     * (see {@link #setMainThreadBudgetMicros(long)}). If the NPC already has an update waiting, it is replaced, so
+     * when skins are cycled quickly only the latest one is applied. Textures are validated once and cached,
+     * so reusing a skin costs no decoding. May be called from any thread.
+     * @param npcName The name of the NPC to update.
+     * @param texture The base64 encoded texture string.
+     * @param signature The base64 encoded signature string for the texture.
+     * @throws IllegalArgumentException if the texture or signature is not valid base64, or the texture contains no textures.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the NPC system is not supported.
+     */
+    public static void queueNPCSkinUpdate(String npcName, String texture, String signature) {
+        requireFeature(Feature.NPCS, "NPC system not supported by this NSR-AI version.");
+        npcSkinQueue.enqueue(npcName, texture, signature);
+    }
+
+    /**
+     * Gets a snapshot of the NPC skin update queue counters.
+     * @return The current skin update statistics.
+     */
+    public static SkinUpdateStats getNPCSkinUpdateStats() {
+        return npcSkinQueue.getStats();
     }
 
     // --- GUI API (Conditional) ---
@@ -162,10 +1009,11 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the GUI system is not supported by this version.
      */
     public static void openCustomGUI(Player player, GUIBuilder guiBuilder) {
-        // Internal API throws UnsupportedOperationException if GUI service is null.
+        requireFeature(Feature.GUI, "GUI system not supported by this NSR-AI version.");
+        // Cores that do not report their available services throw UnsupportedOperationException if the GUI service is null.
         // We re-throw it as IllegalStateException as per public API requirement.
         try {
-            callInternalMethod("openCustomGUI", new Class<?>[]{Player.class, GUIBuilder.class}, player, guiBuilder);
+            invoke(InternalMethod.OPEN_GUI_BUILDER, player, guiBuilder);
         } catch (UnsupportedOperationException e) {
             throw new IllegalStateException("GUI system not supported by this NSR-AI version.", e);
         }
@@ -177,8 +1025,9 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the GUI system is not supported by this version.
      */
     public static void registerGUIListener(GUIListener listener) {
+        requireFeature(Feature.GUI, "GUI system not supported by this NSR-AI version.");
         try {
-            callInternalMethod("registerGUIListener", new Class<?>[]{GUIListener.class}, listener);
+            invoke(InternalMethod.REGISTER_GUI_LISTENER, MetricsRegistry.timedGUI(listener));
         } catch (UnsupportedOperationException e) {
             throw new IllegalStateException("GUI system not supported by this NSR-AI version.", e);
         }
@@ -188,26 +1037,119 @@ public final class NSRaiAPI {
     /**
      * Retrieves a value from the shared memory.
      * @param key The key of the memory entry to retrieve.
+     * Shared memory is held by the API itself and persisted in the core plugin's data folder, so the core plugin
+     * does not need to provide a memory service. Because the data folder is needed, this method throws if the core
+     * plugin is not initialized; earlier releases of this API returned empty instead.
      * @return An Optional containing the value if found, otherwise empty.
-     * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the memory service is not available.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized.
      */
     public static Optional<String> getSharedMemory(String key) {
-        // Internal API logs warning and returns Optional.empty() for now.
-        return callInternalMethod("getSharedMemory", new Class<?>[]{String.class}, key);
+        return sharedMemory().get(key);
     }
 
     /**
      * Updates a value in the shared memory.
      * @param key The key of the memory entry to update.
-     * @param value The new value to set.
-     * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the memory service is not available.
+     * @param value The new value to set, or null to remove the entry.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized. Earlier releases of this API
+     *         silently dropped the update instead.
      */
     public static void updateSharedMemory(String key, String value) {
-        // Internal API logs warning for now.
-        callInternalMethod("updateSharedMemory", new Class<?>[]{String.class, String.class}, key, value);
+        if (value == null) {
+            sharedMemory().remove(key);
+        } else {
+            sharedMemory().put(key, value);
+        }
+    }
+
+    /**
+     * Gets the shared memory store behind {@link #getSharedMemory(String)} and {@link #updateSharedMemory(String, String)}.
+     * Use it for versioned reads, {@link SharedMemoryStore#compareAndSet(String, long, String) compare-and-set} updates,
+     * entries with a time-to-live, and batched {@link SharedMemoryStore#getAll(java.util.Collection) getAll}/{@link SharedMemoryStore#putAll(java.util.Map) putAll}.
+     * The store is safe to use from any thread and is persisted to {@code shared-memory.dat} in the core plugin's data folder.
+     * The store and its watches stay in place when the core plugin reloads. Addons must not close it.
+     * @return The shared memory store.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized.
+     */
+    public static SharedMemoryStore getSharedMemoryStore() {
+        return sharedMemory();
+    }
+
+    /**
+     * Watches shared memory for changes instead of polling {@link #getSharedMemory(String)}.
+     * The listener is called off the main server thread with the old and new value of each changed key;
+     * bursts of changes to the same key within {@value SharedMemoryStore#WATCH_WINDOW_MILLIS} ms are delivered as one change.
+     * <pre>{@code
+     * NSRaiAPI.watchSharedMemory("quiz:*", change ->
+     *         getLogger().info(change.getKey() + " is now " + change.getNewValue().orElse("unset")));
+     * }</pre>
+     * Watches stay registered when the core plugin reloads.
+     * @param keyOrPrefix The key to watch, or a prefix followed by {@code *} to watch all keys starting with it.
+     * @param listener The SharedMemoryListener instance to register.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized.
+     */
+    public static void watchSharedMemory(String keyOrPrefix, SharedMemoryListener listener) {
+        sharedMemory().watch(keyOrPrefix, listener);
+    }
+
+    /**
+     * Removes all shared memory watches of a listener.
+     * @param listener The SharedMemoryListener instance to unregister.
+     */
+    public static void unwatchSharedMemory(SharedMemoryListener listener) {
+        SharedMemoryStore store = sharedMemory;
+        if (store != null) {
+            store.unwatch(listener);
+        }
+    }
+
+    private static SharedMemoryStore sharedMemory() {
+        if (dispatch == null) {
+            throw new IllegalStateException("NSR-AI core plugin not initialized or API not ready.");
+        }
+        SharedMemoryStore store = sharedMemory;
+        if (store == null) {
+            synchronized (NSRaiAPI.class) {
+                store = sharedMemory;
+                if (store == null) {
+                    java.nio.file.Path file = getPlugin().getDataFolder().toPath().resolve("shared-memory.dat");
+                    try {
+                        store = new SharedMemoryStore(SHARED_MEMORY_MAX_ENTRIES, 0, file, SHARED_MEMORY_FLUSH_MILLIS);
+                    } catch (java.io.UncheckedIOException e) {
+                        store = recoverSharedMemory(file, e);
+                    }
+                    sharedMemory = store;
+                }
+            }
+        }
+        return store;
     }
 
+    // Moves an unreadable or corrupt file aside so that the next snapshot does not overwrite it, then starts empty
+    private static SharedMemoryStore recoverSharedMemory(java.nio.file.Path file, java.io.UncheckedIOException cause) {
+        java.nio.file.Path corrupt = file.resolveSibling(file.getFileName() + ".corrupt-" + System.currentTimeMillis());
+        try {
+            java.nio.file.Files.move(file, corrupt, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+        } catch (java.io.IOException e) {
+            cause.addSuppressed(e);
+            getLogger().log(java.util.logging.Level.WARNING, "Could not load or move aside " + file + ", keeping shared memory in memory only", cause);
+            return new SharedMemoryStore(SHARED_MEMORY_MAX_ENTRIES, 0);
+        }
+        getLogger().log(java.util.logging.Level.WARNING, "Could not load " + file + ", moved it to " + corrupt + " and started with empty shared memory", cause);
+        return new SharedMemoryStore(SHARED_MEMORY_MAX_ENTRIES, 0, file, SHARED_MEMORY_FLUSH_MILLIS);
+    }
 
+    // The store and its watches outlive the core plugin, so a reloaded core finds both in place; only pending writes are saved
+    private static void flushSharedMemory() {
+        SharedMemoryStore store = sharedMemory;
+        if (store != null) {
+            try {
+                store.flush();
+            } catch (java.io.UncheckedIOException e) {
+                logger().log(java.util.logging.Level.WARNING, "Could not save shared memory", e);
+            }
+        }
+    }
 
     // --- Versioning API ---
     /**
@@ -216,7 +1158,7 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized.
      */
     public static String getVersion() {
-        return callInternalMethod("getVersion", new Class<?>[]{});
+        return invoke(InternalMethod.GET_VERSION);
     }
 
     /**
@@ -230,15 +1172,15 @@ public final class NSRaiAPI {
     // --- Addon Management ---
 
     public static java.util.List<AIAddon> getRegisteredAddons() {
-        return callInternalMethod("getRegisteredAddons", new Class<?>[]{});
+        return invoke(InternalMethod.GET_REGISTERED_ADDONS);
     }
 
     public static java.util.List<com.nsr.ai.api.AddonInfo> getLoadedAddons() {
-        return callInternalMethod("getLoadedAddonInfo", new Class<?>[]{});
+        return invoke(InternalMethod.GET_LOADED_ADDON_INFO);
     }
 
     public static java.util.List<com.nsr.ai.api.AddonInfo> getFailedAddons() {
-        return callInternalMethod("getFailedAddonInfo", new Class<?>[]{});
+        return invoke(InternalMethod.GET_FAILED_ADDON_INFO);
     }
 
     /**
@@ -246,7 +1188,19 @@ public final class NSRaiAPI {
      * @return The logger instance.
      */
     public static java.util.logging.Logger getLogger() {
-        return callInternalMethod("getLogger", new Class<?>[]{});
+        return invoke(InternalMethod.GET_LOGGER);
+    }
+
+    // For failures on background threads, which may run while no core plugin is registered
+    static java.util.logging.Logger logger() {
+        if (dispatch != null) {
+            try {
+                return getLogger();
+            } catch (IllegalStateException e) {
+                // Core plugin unregistered in the meantime
+            }
+        }
+        return FALLBACK_LOGGER;
     }
 
     /**
@@ -254,7 +1208,7 @@ public final class NSRaiAPI {
      * @return The plugin instance.
      */
     public static org.bukkit.plugin.Plugin getPlugin() {
-        return callInternalMethod("getPlugin", new Class<?>[]{});
+        return invoke(InternalMethod.GET_PLUGIN);
     }
 
     /**
@@ -275,7 +1229,9 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the admin mode service is not available.
      */
     public static boolean toggleAdminMode(Player player, String activationCode) {
-        return callInternalMethod("toggleAdminMode", new Class<?>[]{Player.class, String.class}, player, activationCode);
+        boolean toggled = invokeBoolean(InternalMethod.TOGGLE_ADMIN_MODE, player, activationCode);
+        playerFlags.remove(player.getUniqueId());
+        return toggled;
     }
 
     /**
@@ -285,7 +1241,7 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the admin mode service is not available.
      */
     public static boolean isAdminModeEnabled(Player player) {
-        return callInternalMethod("isAdminModeEnabled", new Class<?>[]{Player.class});
+        return invokeBoolean(InternalMethod.IS_ADMIN_MODE_ENABLED, player);
     }
 
     // --- Advanced GUI Customization ---
@@ -297,7 +1253,8 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the GUI system is not available.
      */
     public static void registerCustomGUI(String guiId, CustomGUIProvider provider) {
-        callInternalMethod("registerCustomGUI", new Class<?>[]{String.class, CustomGUIProvider.class}, guiId, provider);
+        requireFeature(Feature.CUSTOM_GUI, "GUI system not supported by this NSR-AI version.");
+        invoke(InternalMethod.REGISTER_CUSTOM_GUI, guiId, provider);
     }
 
     /**
@@ -307,7 +1264,8 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized, the GUI system is not available, or the guiId is not registered.
      */
     public static void openCustomGUI(Player player, String guiId) {
-        callInternalMethod("openCustomGUI", new Class<?>[]{Player.class, String.class}, player, guiId);
+        requireFeature(Feature.CUSTOM_GUI, "GUI system not supported by this NSR-AI version.");
+        invoke(InternalMethod.OPEN_CUSTOM_GUI, player, guiId);
     }
 
     // --- Internal Player States (Controlled Access) ---
@@ -318,7 +1276,7 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the chat service is not available.
      */
     public static boolean isPlayerOnCooldown(Player player) {
-        return callInternalMethod("isPlayerOnCooldown", new Class<?>[]{Player.class}, player);
+        return invokeBoolean(InternalMethod.IS_PLAYER_ON_COOLDOWN, player);
     }
 
     /**
@@ -328,7 +1286,82 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the chat service is not available.
      */
     public static long getPlayerCooldownRemaining(Player player) {
-        return callInternalMethod("getPlayerCooldownRemaining", new Class<?>[]{Player.class}, player);
+        return invokeLong(InternalMethod.GET_PLAYER_COOLDOWN_REMAINING, player);
+    }
+
+    /**
+     * Gets a player's AI chat cooldown, including the remaining time, in a single call.
+     * Cooldowns are mirrored from the core: the core is asked again at most once per second per player and after each
+     * message the player sends through the API, so calling this every tick (e.g. for a boss bar) rarely reaches the core.
+     * Cooldowns changed in the core by other means are therefore reported up to a second late.
+     * @param player The player to check.
+     * @return The player's cooldown state.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the chat service is not available.
+     */
+    public static CooldownState getCooldownState(Player player) {
+        Optional<CooldownState> known = cooldowns().getState(player.getUniqueId(), COOLDOWN_RESYNC_MILLIS);
+        return known.isPresent() ? known.get() : syncCooldown(player);
+    }
+
+    /**
+     * Registers a listener notified when a player's AI chat cooldown expires, instead of polling
+     * {@link #isPlayerOnCooldown(Player)}. Only cooldowns known to the API are reported: those of players
+     * whose state was queried with {@link #getCooldownState(Player)} or who sent a message through the API since.
+     * Listeners stay registered when the core plugin reloads.
+     * @param listener The CooldownListener instance to register.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized.
+     */
+    public static void registerCooldownListener(CooldownListener listener) {
+        cooldowns().addListener(listener);
+    }
+
+    /**
+     * Unregisters a previously registered cooldown listener.
+     * @param listener The CooldownListener instance to unregister.
+     */
+    public static void unregisterCooldownListener(CooldownListener listener) {
+        CooldownTracker tracker = cooldownTracker;
+        if (tracker != null) {
+            tracker.removeListener(listener);
+        }
+    }
+
+    private static CooldownState syncCooldown(Player player) {
+        long remaining = getPlayerCooldownRemaining(player);
+        cooldowns().start(player.getUniqueId(), remaining);
+        return new CooldownState(remaining);
+    }
+
+    private static CooldownTracker cooldowns() {
+        CooldownTracker tracker = cooldownTracker;
+        if (tracker == null) {
+            synchronized (NSRaiAPI.class) {
+                tracker = cooldownTracker;
+                if (tracker == null) {
+                    if (dispatch == null) {
+                        throw new IllegalStateException("NSR-AI core plugin not initialized or API not ready.");
+                    }
+                    // One bucket per server tick, about 25 seconds per turn of the wheel
+                    tracker = new CooldownTracker(50, 512);
+                    cooldownTracker = tracker;
+                    forgetPlayersOnQuit();
+                }
+            }
+        }
+        return tracker;
+    }
+
+    private static void forgetPlayersOnQuit() {
+        org.bukkit.plugin.Plugin plugin = getPlugin();
+        if (playerQuitPlugin == plugin) {
+            return;
+        }
+        playerQuitPlugin = plugin;
+        // Bukkit expects listeners to be registered on the main thread
+        mainThreadExecutor().execute(() -> {
+            org.bukkit.event.HandlerList.unregisterAll(playerQuitListener);
+            plugin.getServer().getPluginManager().registerEvents(playerQuitListener, plugin);
+        });
     }
 
     /**
@@ -338,7 +1371,54 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized.
      */
     public static boolean isAiEnabled(Player player) {
-        return callInternalMethod("isAiEnabled", new Class<?>[]{Player.class}, player);
+        return invokeBoolean(InternalMethod.IS_AI_ENABLED, player);
+    }
+
+    /**
+     * Gets the AI enablement, admin mode and chat cooldown of many players in one call,
+     * e.g. once per refresh of a tab list or scoreboard.
+     * When the core supports {@link Feature#BULK_PLAYER_STATES}, the snapshot is taken by the core in a single call.
+     * Otherwise it is assembled here from states mirrored from the core, like {@link #getCooldownState(Player)}:
+     * each player's flags and cooldown are asked from the core at most once per second, so refreshing every tick
+     * reports changes made in the core by other means up to a second late. Changes made through
+     * {@link #setAiEnabled(Player, boolean)} and {@link #toggleAdminMode(Player, String)} are seen immediately.
+     * <pre>{@code
+     * PlayerStates states = NSRaiAPI.getPlayerStates(players);
+     * for (int i = 0; i < states.size(); i++) {
+     *     if (states.isOnCooldown(i)) { ... }
+     * }
+     * }</pre>
+     * @param players The players to query; the snapshot is indexed in the iteration order of this collection.
+     * @return An immutable snapshot of the players' states.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized.
+     */
+    public static PlayerStates getPlayerStates(java.util.Collection<? extends Player> players) {
+        InternalDispatch current = dispatch;
+        if (current != null && current.isBound(InternalMethod.GET_PLAYER_STATES)) {
+            return invoke(InternalMethod.GET_PLAYER_STATES, players);
+        }
+        boolean adminSupported = capabilities().supports(Feature.ADMIN_MODE);
+        // Copy first: the collection (e.g. the online players) may change while it is being read
+        Player[] snapshot = players.toArray(new Player[0]);
+        UUID[] ids = new UUID[snapshot.length];
+        java.util.BitSet aiEnabled = new java.util.BitSet(ids.length);
+        java.util.BitSet adminMode = new java.util.BitSet(ids.length);
+        long[] cooldowns = new long[ids.length];
+        long resyncNanos = java.util.concurrent.TimeUnit.MILLISECONDS.toNanos(COOLDOWN_RESYNC_MILLIS);
+        for (int i = 0; i < snapshot.length; i++) {
+            Player player = snapshot[i];
+            ids[i] = player.getUniqueId();
+            PlayerFlags flags = playerFlags.get(ids[i]);
+            long now = System.nanoTime();
+            if (flags == null || now - flags.checkedAtNanos > resyncNanos) {
+                flags = new PlayerFlags(isAiEnabled(player), adminSupported && isAdminModeEnabled(player), now);
+                playerFlags.put(ids[i], flags);
+            }
+            aiEnabled.set(i, flags.aiEnabled);
+            adminMode.set(i, flags.adminMode);
+            cooldowns[i] = getCooldownState(player).getRemainingMillis();
+        }
+        return PlayerStates.wrap(ids, aiEnabled, adminMode, cooldowns);
     }
 
     /**
@@ -348,7 +1428,8 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized.
      */
     public static void setAiEnabled(Player player, boolean enabled) {
-        callInternalMethod("setAiEnabled", new Class<?>[]{Player.class, boolean.class}, player, enabled);
+        invoke(InternalMethod.SET_AI_ENABLED, player, enabled);
+        playerFlags.remove(player.getUniqueId());
     }
 
     // --- Knowledge Base Direct Modification ---
@@ -360,7 +1441,11 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the knowledge base service is not available.
      */
     public static void addKnowledgeEntry(String keyword, String heading, String content) {
-        callInternalMethod("addKnowledgeEntry", new Class<?>[]{String.class, String.class, String.class}, keyword, heading, content);
+        invoke(InternalMethod.ADD_KNOWLEDGE_ENTRY, keyword, heading, content);
+        KnowledgeStore store = knowledgeStore;
+        if (store != null) {
+            store.put(keyword + "/" + heading, content);
+        }
     }
 
     /**
@@ -370,7 +1455,12 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the knowledge base service is not available.
      */
     public static String removeKnowledgeEntry(String keyword) {
-        return callInternalMethod("removeKnowledgeEntry", new Class<?>[]{String.class}, keyword);
+        String removed = invoke(InternalMethod.REMOVE_KNOWLEDGE_ENTRY, keyword);
+        KnowledgeStore store = knowledgeStore;
+        if (store != null && removed != null) {
+            store.removeKeyword(keyword);
+        }
+        return removed;
     }
 
     /**
@@ -379,7 +1469,70 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the knowledge base service is not available.
      */
     public static java.util.Map<String, String> getAllKnowledge() {
-        return callInternalMethod("getAllKnowledge", new Class<?>[]{});
+        return invoke(InternalMethod.GET_ALL_KNOWLEDGE);
+    }
+
+    /**
+     * Searches the knowledge base without copying it.
+     * Entries whose keyword equals the query rank first, followed by entries whose keyword starts with the query,
+     * followed by entries containing any of the query's terms in their keyword, heading or content, ranked by BM25 score.
+     * The search index is built from {@link #getAllKnowledge()} on first use and then kept up to date incrementally
+     * from the same changes that produce new {@link #getKnowledgeSnapshot() snapshots}.
+     * @param query The search query.
+     * @param limit The maximum number of results to return.
+     * @return The best matching entries, most relevant first.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the knowledge base service is not available.
+     */
+    public static java.util.List<KnowledgeMatch> searchKnowledge(String query, int limit) {
+        return knowledgeStore().getIndex().search(query, limit);
+    }
+
+    /**
+     * Gets an immutable, versioned snapshot of the knowledge base.
+     * The snapshot is loaded from {@link #getAllKnowledge()} on first use and then kept up to date by
+     * {@link #addKnowledgeEntry(String, String, String)}, {@link #removeKnowledgeEntry(String)} and
+     * {@link #reloadKnowledgeBase()}, and reconciled with the core plugin when it registers again.
+     * Reading it does not block; the knowledge base is copied at most once per version, on the first read after a change.
+     * @return The current knowledge base snapshot.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the knowledge base service is not available.
+     */
+    public static KnowledgeSnapshot getKnowledgeSnapshot() {
+        return knowledgeStore().getSnapshot();
+    }
+
+    /**
+     * Registers a listener that is notified of every change to the knowledge base,
+     * including the added, removed and changed entries of each reload.
+     * @param listener The KnowledgeListener instance to register.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the knowledge base service is not available.
+     */
+    public static void registerKnowledgeListener(KnowledgeListener listener) {
+        knowledgeStore().addListener(listener);
+    }
+
+    /**
+     * Unregisters a previously registered knowledge listener.
+     * @param listener The KnowledgeListener instance to unregister.
+     */
+    public static void unregisterKnowledgeListener(KnowledgeListener listener) {
+        KnowledgeStore store = knowledgeStore;
+        if (store != null) {
+            store.removeListener(listener);
+        }
+    }
+
+    private static KnowledgeStore knowledgeStore() {
+        KnowledgeStore store = knowledgeStore;
+        if (store == null) {
+            synchronized (NSRaiAPI.class) {
+                store = knowledgeStore;
+                if (store == null) {
+                    store = new KnowledgeStore(getAllKnowledge());
+                    knowledgeStore = store;
+                }
+            }
+        }
+        return store;
     }
 
     // --- Direct Conversation History Manipulation ---
@@ -389,7 +1542,7 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the conversation service is not available.
      */
     public static void clearConversationHistory(Player player) {
-        callInternalMethod("clearConversationHistory", new Class<?>[]{Player.class}, player);
+        invoke(InternalMethod.CLEAR_CONVERSATION_HISTORY, player);
     }
 
     /**
@@ -399,7 +1552,126 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the conversation service is not available.
      */
     public static void summarizeConversation(Player player) {
-        callInternalMethod("summarizeConversation", new Class<?>[]{Player.class}, player);
+        invoke(InternalMethod.SUMMARIZE_CONVERSATION, player);
+    }
+
+    /**
+     * Summarizes a player's conversation history in the background.
+     * Unlike {@link #summarizeConversation(Player)}, the returned future tells the caller when the summary is done.
+     * If the core plugin cannot summarize asynchronously, the summary is requested with
+     * {@link #summarizeConversation(Player)} and the future completes once the player's history has shrunk,
+     * or exceptionally with a {@link java.util.concurrent.TimeoutException} if it has not shrunk within a minute.
+     * @param playerId The UUID of the player whose conversation to summarize.
+     * @return A CompletableFuture that completes once the summarization has finished.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the conversation service is not available.
+     */
+    public static CompletableFuture<Void> summarizeConversationAsync(UUID playerId) {
+        InternalDispatch current = dispatch;
+        if (current != null && current.isBound(InternalMethod.SUMMARIZE_CONVERSATION_ASYNC)) {
+            return invoke(InternalMethod.SUMMARIZE_CONVERSATION_ASYNC, playerId);
+        }
+        Player player = org.bukkit.Bukkit.getPlayer(playerId);
+        if (player == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        org.bukkit.plugin.Plugin plugin = getPlugin();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                ConversationStats before = getConversationStats(playerId);
+                summarizeConversation(player);
+                awaitSummary(plugin, playerId, before, System.currentTimeMillis() + SUMMARY_TIMEOUT_MILLIS, done);
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+            }
+        });
+        return done;
+    }
+
+    // The fire-and-forget summary of older cores only shows in the history, so wait until the history shrinks
+    private static void awaitSummary(org.bukkit.plugin.Plugin plugin, UUID playerId, ConversationStats before,
+                                     long deadline, CompletableFuture<Void> done) {
+        ConversationStats now = getConversationStats(playerId);
+        if (now.getMessageCount() < before.getMessageCount() || now.getEstimatedTokens() < before.getEstimatedTokens()) {
+            done.complete(null);
+        } else if (System.currentTimeMillis() >= deadline) {
+            done.completeExceptionally(new java.util.concurrent.TimeoutException(
+                    "Conversation history of " + playerId + " did not shrink after summarization"));
+        } else {
+            plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, () -> {
+                try {
+                    awaitSummary(plugin, playerId, before, deadline, done);
+                } catch (RuntimeException e) {
+                    done.completeExceptionally(e);
+                }
+            }, SUMMARY_POLL_TICKS);
+        }
+    }
+
+    /**
+     * Enables automatic summarization of long conversations.
+     * Every {@code checkIntervalTicks}, the conversation history of each online player is checked, and histories
+     * over either threshold are summarized in the background, at most {@code maxParallel} at a time.
+     * This keeps prompt sizes, and with them latency and cost, bounded without addons calling
+     * {@link #summarizeConversation(Player)} themselves. Calling this again replaces the previous configuration.
+     * Players whose summarization is still pending are skipped. If the core plugin does not support
+     * {@link Feature#PAGED_HISTORY}, statistics are computed from a copy of each history, so only a few players
+     * are checked per sweep, in rotation.
+     * @param tokenThreshold The estimated token count above which a history is summarized.
+     * @param byteThreshold The estimated byte size above which a history is summarized.
+     * @param maxParallel The maximum number of summarizations running at once.
+     * @param checkIntervalTicks How often to check online players' histories, in server ticks.
+     * @throws IllegalArgumentException if a threshold, the parallelism or the interval is less than 1.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized.
+     */
+    public static synchronized void enableAutoSummarization(long tokenThreshold, long byteThreshold, int maxParallel, long checkIntervalTicks) {
+        if (checkIntervalTicks < 1) {
+            throw new IllegalArgumentException("checkIntervalTicks must be at least 1: " + checkIntervalTicks);
+        }
+        SummarizationScheduler scheduler = new SummarizationScheduler(NSRaiAPI::getConversationStats,
+                NSRaiAPI::summarizeConversationAsync, tokenThreshold, byteThreshold, maxParallel);
+        disableAutoSummarization();
+        org.bukkit.plugin.Plugin plugin = getPlugin();
+        summarizationScheduler = scheduler;
+        int[] cursor = new int[1];
+        summarizationTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+            java.util.List<UUID> online = new java.util.ArrayList<>();
+            for (Player player : org.bukkit.Bukkit.getOnlinePlayers()) {
+                online.add(player.getUniqueId());
+            }
+            InternalDispatch current = dispatch;
+            if (current != null && !current.isBound(InternalMethod.GET_CONVERSATION_STATS)
+                    && online.size() > FALLBACK_CHECKS_PER_SWEEP) {
+                // Without core statistics every check copies a whole history, so spread the players over several sweeps
+                int start = cursor[0] % online.size();
+                java.util.List<UUID> slice = new java.util.ArrayList<>(FALLBACK_CHECKS_PER_SWEEP);
+                for (int i = 0; i < FALLBACK_CHECKS_PER_SWEEP; i++) {
+                    slice.add(online.get((start + i) % online.size()));
+                }
+                cursor[0] = start + FALLBACK_CHECKS_PER_SWEEP;
+                online = slice;
+            }
+            scheduler.checkAll(online);
+        }, checkIntervalTicks, checkIntervalTicks);
+    }
+
+    /**
+     * Disables automatic summarization. Summarizations already running still complete.
+     */
+    public static synchronized void disableAutoSummarization() {
+        if (summarizationTask != null) {
+            summarizationTask.cancel();
+            summarizationTask = null;
+        }
+        summarizationScheduler = null;
+    }
+
+    /**
+     * Gets the scheduler used for automatic summarization, e.g. to check a player right after a long exchange.
+     * @return An Optional containing the scheduler, or empty if automatic summarization is disabled.
+     */
+    public static Optional<SummarizationScheduler> getSummarizationScheduler() {
+        return Optional.ofNullable(summarizationScheduler);
     }
 
     /**
@@ -408,7 +1680,7 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the conversation service is not available.
      */
     public static void refreshConversation(Player player) {
-        callInternalMethod("refreshConversation", new Class<?>[]{Player.class}, player);
+        invoke(InternalMethod.REFRESH_CONVERSATION, player);
     }
 
     /**
@@ -419,7 +1691,58 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the conversation service is not available.
      */
     public static java.util.List<AIMessage> getConversationHistory(Player player) {
-        return callInternalMethod("getConversationHistory", new Class<?>[]{Player.class}, player);
+        return invoke(InternalMethod.GET_CONVERSATION_HISTORY, player);
+    }
+
+    /**
+     * Retrieves a window of a player's conversation history without copying the whole history.
+     * @param player The player whose conversation history to retrieve.
+     * @param offset The index of the first message to return, where 0 is the oldest retained message.
+     * @param limit The maximum number of messages to return.
+     * @return The requested messages, oldest first.
+     * @throws IllegalArgumentException if offset or limit is negative.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the conversation service is not available.
+     */
+    public static java.util.List<AIMessage> getConversationHistory(Player player, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset and limit must not be negative: " + offset + ", " + limit);
+        }
+        InternalDispatch current = dispatch;
+        if (current != null && current.isBound(InternalMethod.GET_CONVERSATION_HISTORY_PAGE)) {
+            return invoke(InternalMethod.GET_CONVERSATION_HISTORY_PAGE, player.getUniqueId(), offset, limit);
+        }
+        java.util.List<AIMessage> history = getConversationHistory(player);
+        if (offset >= history.size()) {
+            return java.util.Collections.emptyList();
+        }
+        return new java.util.ArrayList<>(history.subList(offset, (int) Math.min(history.size(), (long) offset + limit)));
+    }
+
+    /**
+     * Retrieves memory statistics for a player's conversation history.
+     * The history is keyed by UUID in the core plugin, so this also works for offline players
+     * when the core supports {@link Feature#PAGED_HISTORY}.
+     * @param playerId The UUID of the player.
+     * @return The statistics of the player's history.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the conversation service is not available.
+     */
+    public static ConversationStats getConversationStats(UUID playerId) {
+        InternalDispatch current = dispatch;
+        if (current != null && current.isBound(InternalMethod.GET_CONVERSATION_STATS)) {
+            return invoke(InternalMethod.GET_CONVERSATION_STATS, playerId);
+        }
+        Player player = org.bukkit.Bukkit.getPlayer(playerId);
+        if (player == null) {
+            return new ConversationStats(0, 0, 0);
+        }
+        java.util.List<AIMessage> history = getConversationHistory(player);
+        long bytes = 0;
+        long tokens = 0;
+        for (AIMessage message : history) {
+            bytes += ConversationHistoryStore.estimateBytes(message);
+            tokens += message.getEstimatedTokens();
+        }
+        return new ConversationStats(history.size(), bytes, 0, tokens);
     }
 
     // --- Configuration Reloading ---
@@ -428,7 +1751,7 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized.
      */
     public static void reloadMainConfig() {
-        callInternalMethod("reloadMainConfig", new Class<?>[]{});
+        invoke(InternalMethod.RELOAD_MAIN_CONFIG);
     }
 
     /**
@@ -436,15 +1759,48 @@ public final class NSRaiAPI {
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized.
      */
     public static void reloadFeaturesConfig() {
-        callInternalMethod("reloadFeaturesConfig", new Class<?>[]{});
+        invoke(InternalMethod.RELOAD_FEATURES_CONFIG);
     }
 
     /**
      * Triggers a reload of the knowledge base of the NSR-AI core plugin.
+     * The reloaded knowledge base is diffed against the current snapshot and only the differences are applied,
+     * producing a new snapshot version and a single {@link KnowledgeDelta} for registered knowledge listeners.
      * @throws IllegalStateException if the NSR-AI core plugin is not initialized or the knowledge base service is not available.
      */
     public static void reloadKnowledgeBase() {
-        callInternalMethod("reloadKnowledgeBase", new Class<?>[]{});
+        invoke(InternalMethod.RELOAD_KNOWLEDGE_BASE);
+        KnowledgeStore store = knowledgeStore;
+        if (store != null) {
+            store.reconcile(getAllKnowledge());
+        }
+    }
+
+    // --- Metrics ---
+    /**
+     * Gets a snapshot of the API's built-in metrics: call counts, errors, in-flight calls and latency histograms
+     * for every call into the core plugin, for AI requests and for pet, NPC and GUI listeners.
+     * The core plugin renders this snapshot for the {@code /ai metrics} command.
+     * @return The metrics snapshot; timers that recorded nothing are omitted.
+     * @see ApiMetrics
+     */
+    public static ApiMetrics getMetrics() {
+        return MetricsRegistry.snapshot();
+    }
+
+    /**
+     * Enables or disables metrics recording. Recording is enabled by default and costs a few atomic increments per call.
+     * @param enabled Whether to record metrics.
+     */
+    public static void setMetricsEnabled(boolean enabled) {
+        MetricsRegistry.setEnabled(enabled);
+    }
+
+    /**
+     * Resets all recorded metrics. Calls in flight are still tracked.
+     */
+    public static void resetMetrics() {
+        MetricsRegistry.reset();
     }
 }
 
@@ -0,0 +1,303 @@
+package com.nsr.ai.api;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+/**
+ * A {@link GUIBuilder} that shows a large data set one page at a time.
+ * <p>
+ * All rows but the last show entries; the last row holds the previous and next page buttons. Only the visible page is
+ * fetched from the {@link GUIPageSource} and rendered into item stacks, always on an async scheduler thread, so opening
+ * and paging never block the main thread; a page that is not cached yet appears once it is loaded. Once a page is
+ * shown, the next page is fetched ahead, so paging forward is usually instant. Rendered pages are kept in an LRU
+ * cache shared by all viewers, so opening the GUI for many players costs one page of work. If a page cannot be
+ * loaded while no page is shown yet, a barrier in the middle of the last row lets the viewer try again.
+ * <pre>{@code
+ * List<String> keys = new ArrayList<>(NSRaiAPI.getKnowledgeSnapshot().getEntries().keySet());
+ * PagedGUIBuilder<String> browser = new PagedGUIBuilder<>("Knowledge", 54,
+ *         (offset, limit) -> keys.subList(Math.min(offset, keys.size()), Math.min(offset + limit, keys.size())),
+ *         key -> named(new ItemStack(Material.PAPER), key), 8);
+ * browser.setItemClickHandler((event, key) -> event.getWhoClicked().sendMessage(key));
+ * NSRaiAPI.openCustomGUI(player, browser);
+ * }</pre>
+ * Clicks are handled on the main server thread; the page source and renderer are called on async scheduler threads.
+ * @param <T> The type of the entries.
+ */
+public class PagedGUIBuilder<T> implements GUIBuilder, CustomGUIProvider {
+
+    private final String title;
+    private final int size;
+    private final int pageSize;
+    private final GUIPageSource<T> source;
+    private final Function<T, ItemStack> renderer;
+    private final Map<Integer, CompletableFuture<Page<T>>> pages;
+    private volatile BiConsumer<InventoryClickEvent, T> itemClickHandler;
+    private volatile ItemStack previousButton;
+    private volatile ItemStack nextButton;
+
+    /**
+     * Constructs a new PagedGUIBuilder.
+     * @param title The title of the GUI.
+     * @param size The number of slots; a multiple of 9 between 18 and 54 (inclusive).
+     * @param source The source of the entries.
+     * @param renderer Renders an entry into the item stack shown for it.
+     * @param cachedPages The maximum number of rendered pages to keep.
+     * @throws IllegalArgumentException if the size is not valid or {@code cachedPages} is less than 1.
+     */
+    public PagedGUIBuilder(String title, int size, GUIPageSource<T> source, Function<T, ItemStack> renderer, int cachedPages) {
+        if (size < 18 || size > 54 || size % 9 != 0) {
+            throw new IllegalArgumentException("Paged GUI size must be a multiple of 9 between 18 and 54: " + size);
+        }
+        if (cachedPages < 1) {
+            throw new IllegalArgumentException("cachedPages must be at least 1: " + cachedPages);
+        }
+        this.title = title;
+        this.size = size;
+        this.pageSize = size - 9;
+        this.source = source;
+        this.renderer = renderer;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CompletableFuture<Page<T>>> eldest) {
+                return size() > cachedPages;
+            }
+        };
+    }
+
+    /**
+     * Sets the handler for clicks on entries.
+     * @param handler The handler, called with the click event and the clicked entry.
+     */
+    public void setItemClickHandler(BiConsumer<InventoryClickEvent, T> handler) {
+        this.itemClickHandler = handler;
+    }
+
+    /**
+     * Sets the items of the page buttons. Defaults to arrows.
+     * @param previous The item of the previous page button.
+     * @param next The item of the next page button.
+     */
+    public void setNavigationItems(ItemStack previous, ItemStack next) {
+        this.previousButton = previous;
+        this.nextButton = next;
+    }
+
+    /**
+     * Discards all cached pages, e.g. after the underlying data changed. Open views keep showing their page until paged.
+     */
+    public void invalidate() {
+        synchronized (pages) {
+            pages.clear();
+        }
+    }
+
+    @Override
+    public Inventory createInventory(Player player) {
+        View<T> view = new View<>(this);
+        Inventory inventory = Bukkit.createInventory(view, size, title);
+        view.inventory = inventory;
+        show(view, 0);
+        return inventory;
+    }
+
+    @Override
+    public void handleClick(InventoryClickEvent event) {
+        int slot = event.getRawSlot();
+        InventoryHolder holder = event.getInventory().getHolder();
+        if (!(holder instanceof View) || ((View<?>) holder).owner != this) {
+            return;
+        }
+        if (GUIClicks.reachesGUI(event, size)) {
+            event.setCancelled(true);
+        }
+        if (slot < 0 || slot >= size) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        View<T> view = (View<T>) holder;
+        Page<T> shown = view.shown;
+        if (shown == null) {
+            if (slot == retrySlot() && view.failed) {
+                view.failed = false;
+                view.inventory.setItem(slot, null);
+                show(view, view.requested);
+            }
+            return;
+        }
+        if (slot == size - 9 && view.page > 0) {
+            show(view, view.page - 1);
+        } else if (slot == size - 1 && shown.hasNext) {
+            show(view, view.page + 1);
+        } else if (slot < shown.entries.size()) {
+            BiConsumer<InventoryClickEvent, T> handler = itemClickHandler;
+            if (handler != null) {
+                handler.accept(event, shown.entries.get(slot));
+            }
+        }
+    }
+
+    @Override
+    public String getTitle() {
+        return title;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    private void show(View<T> view, int index) {
+        view.requested = index;
+        CompletableFuture<Page<T>> future = page(index);
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            render(view, index, future.join());
+            return;
+        }
+        future.whenCompleteAsync((page, error) -> {
+            // The viewer may have paged on while this page was loading
+            if (view.requested != index) {
+                return;
+            }
+            if (error != null) {
+                // Keep showing the previous page, where paging again retries; without one, offer to retry
+                NSRaiAPI.logger().log(Level.WARNING, "Could not load page " + index + " of GUI " + title, error);
+                if (view.shown == null) {
+                    view.failed = true;
+                    view.inventory.setItem(retrySlot(), new ItemStack(Material.BARRIER));
+                }
+                return;
+            }
+            render(view, index, page);
+        }, NSRaiAPI.mainThreadExecutor());
+    }
+
+    private void render(View<T> view, int index, Page<T> page) {
+        view.page = index;
+        view.shown = page;
+        Inventory inventory = view.inventory;
+        for (int slot = 0; slot < pageSize; slot++) {
+            inventory.setItem(slot, slot < page.items.length ? page.items[slot] : null);
+        }
+        inventory.setItem(size - 9, index > 0 ? button(true) : null);
+        inventory.setItem(retrySlot(), null);
+        inventory.setItem(size - 1, page.hasNext ? button(false) : null);
+        if (page.hasNext) {
+            page(index + 1);
+        }
+    }
+
+    private int retrySlot() {
+        return size - 5;
+    }
+
+    private ItemStack button(boolean previous) {
+        ItemStack item = previous ? previousButton : nextButton;
+        return item != null ? item : new ItemStack(Material.ARROW);
+    }
+
+    // Never throws; failures complete the future exceptionally and are not cached, so the next request retries the page
+    private CompletableFuture<Page<T>> page(int index) {
+        synchronized (pages) {
+            CompletableFuture<Page<T>> cached = pages.get(index);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        org.bukkit.plugin.Plugin plugin;
+        try {
+            plugin = NSRaiAPI.getPlugin();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<Page<T>> future;
+        synchronized (pages) {
+            future = pages.get(index);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pages.put(index, future);
+        }
+        CompletableFuture<Page<T>> loading = future;
+        try {
+            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+                try {
+                    loading.complete(load(index));
+                } catch (RuntimeException e) {
+                    fail(index, loading, e);
+                }
+            });
+        } catch (RuntimeException e) {
+            fail(index, loading, e);
+        }
+        return future;
+    }
+
+    private void fail(int index, CompletableFuture<Page<T>> loading, RuntimeException error) {
+        synchronized (pages) {
+            pages.remove(index, loading);
+        }
+        loading.completeExceptionally(error);
+    }
+
+    private Page<T> load(int index) {
+        // Fetch one extra entry to learn whether a next page exists without counting the whole data set
+        List<T> fetched = source.fetch(index * pageSize, pageSize + 1);
+        boolean hasNext = fetched.size() > pageSize;
+        List<T> entries = hasNext ? fetched.subList(0, pageSize) : fetched;
+        ItemStack[] items = new ItemStack[entries.size()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = renderer.apply(entries.get(i));
+        }
+        return new Page<>(Collections.unmodifiableList(entries), items, hasNext);
+    }
+
+    private static final class Page<T> {
+        final List<T> entries;
+        final ItemStack[] items;
+        final boolean hasNext;
+
+        Page(List<T> entries, ItemStack[] items, boolean hasNext) {
+            this.entries = entries;
+            this.items = items;
+            this.hasNext = hasNext;
+        }
+    }
+
+    /**
+     * Identifies inventories opened by this builder and the page each viewer is on.
+     */
+    private static final class View<T> implements InventoryHolder {
+        final PagedGUIBuilder<T> owner;
+        Inventory inventory;
+        // The page shown, set only once it has been rendered, and the page last asked for
+        volatile int page;
+        volatile int requested;
+        volatile Page<T> shown;
+        // Whether loading failed before any page was shown, so the retry button is visible
+        volatile boolean failed;
+
+        View(PagedGUIBuilder<T> owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public Inventory getInventory() {
+            return inventory;
+        }
+    }
+}
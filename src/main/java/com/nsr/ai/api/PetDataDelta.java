@@ -0,0 +1,53 @@
+package com.nsr.ai.api;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Describes which fields of a pet changed between two snapshots.
+ * This class is immutable.
+ * @see PetDataSnapshot#diff(PetDataSnapshot)
+ */
+public final class PetDataDelta {
+    private final PetDataSnapshot snapshot;
+    private final Set<PetField> changed;
+
+    /**
+     * Constructs a new PetDataDelta.
+     * @param snapshot The newer snapshot.
+     * @param changed The changed fields. Must not be modified afterwards.
+     */
+    PetDataDelta(PetDataSnapshot snapshot, EnumSet<PetField> changed) {
+        this.snapshot = snapshot;
+        this.changed = Collections.unmodifiableSet(changed);
+    }
+
+    /**
+     * Gets the UUID of the pet's owner.
+     * @return The owner's UUID.
+     */
+    public UUID getOwner() { return snapshot.getOwner(); }
+    /**
+     * Gets the newer snapshot, from which the new values of the changed fields can be read.
+     * @return The newer snapshot.
+     */
+    public PetDataSnapshot getSnapshot() { return snapshot; }
+    /**
+     * Gets the fields that changed.
+     * @return An unmodifiable set of changed fields.
+     */
+    public Set<PetField> getChangedFields() { return changed; }
+    /**
+     * Checks whether a field changed.
+     * @param field The field to check.
+     * @return true if the field changed, false otherwise.
+     */
+    public boolean hasChanged(PetField field) { return changed.contains(field); }
+    /**
+     * Checks whether this delta contains any change.
+     * @return true if no field changed.
+     */
+    public boolean isEmpty() { return changed.isEmpty(); }
+}
@@ -1,14 +1,30 @@
 package com.nsr.ai.api;
 
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.UUID;
 
 /**
  * Represents a snapshot of a pet's data at a specific moment.
+ * Cores that report structured pet data fill the typed fields directly; for cores that only report a data string,
+ * the typed fields are parsed once from {@code key=value} pairs in that string (e.g. {@code "type=wolf, level=3, mood=happy"}).
+ * Use {@link #isStructured()} to check whether any typed field is known.
  * This class is immutable.
  */
 public class PetDataSnapshot {
     private final UUID owner;
-    private final String data; // Placeholder for actual pet data
+    private final String data; // Raw data string as reported by the core
+    private final boolean structured;
+    private final String type;
+    private final int level;
+    private final double health;
+    private final double maxHealth;
+    private final String mood;
+    private final String world;
+    private final double x;
+    private final double y;
+    private final double z;
 
     /**
      * Constructs a new PetDataSnapshot.
@@ -16,8 +32,49 @@ public class PetDataSnapshot {
      * @param data A string representation of the pet's data (e.g., personality, mood, bond level).
      */
     public PetDataSnapshot(UUID owner, String data) {
+        Parser parsed = new Parser(data);
         this.owner = owner;
         this.data = data;
+        this.structured = parsed.found;
+        this.type = parsed.type;
+        this.level = parsed.level;
+        this.health = parsed.health;
+        this.maxHealth = parsed.maxHealth;
+        this.mood = parsed.mood;
+        this.world = parsed.world;
+        this.x = parsed.x;
+        this.y = parsed.y;
+        this.z = parsed.z;
+    }
+
+    /**
+     * Constructs a new structured PetDataSnapshot.
+     * @param owner The UUID of the pet's owner.
+     * @param type The pet type (e.g. "wolf"), or null if unknown.
+     * @param level The pet level, or 0 if unknown.
+     * @param health The current health, or NaN if unknown.
+     * @param maxHealth The maximum health, or NaN if unknown.
+     * @param mood The current mood, or null if unknown.
+     * @param world The name of the world the pet is in, or null if the pet is not spawned.
+     * @param x The x coordinate of the pet.
+     * @param y The y coordinate of the pet.
+     * @param z The z coordinate of the pet.
+     * @param data Additional data as reported by the core, or null.
+     */
+    public PetDataSnapshot(UUID owner, String type, int level, double health, double maxHealth, String mood,
+                           String world, double x, double y, double z, String data) {
+        this.owner = owner;
+        this.data = data;
+        this.structured = true;
+        this.type = type;
+        this.level = level;
+        this.health = health;
+        this.maxHealth = maxHealth;
+        this.mood = mood;
+        this.world = world;
+        this.x = x;
+        this.y = y;
+        this.z = z;
     }
 
     /**
@@ -30,4 +87,141 @@ public class PetDataSnapshot {
      * @return The pet's data string.
      */
     public String getData() { return data; }
+    /**
+     * Checks whether the typed fields of this snapshot are known.
+     * @return true if the core reported structured data or the data string contained known fields.
+     */
+    public boolean isStructured() { return structured; }
+    /**
+     * Gets the pet type.
+     * @return The pet type (e.g. "wolf"), or null if unknown.
+     */
+    public String getType() { return type; }
+    /**
+     * Gets the pet level.
+     * @return The level, or 0 if unknown.
+     */
+    public int getLevel() { return level; }
+    /**
+     * Gets the pet's current health.
+     * @return The health, or NaN if unknown.
+     */
+    public double getHealth() { return health; }
+    /**
+     * Gets the pet's maximum health.
+     * @return The maximum health, or NaN if unknown.
+     */
+    public double getMaxHealth() { return maxHealth; }
+    /**
+     * Gets the pet's current mood.
+     * @return The mood, or null if unknown.
+     */
+    public String getMood() { return mood; }
+    /**
+     * Checks whether the pet's location is known.
+     * @return true if the pet is spawned and its world is known.
+     */
+    public boolean hasLocation() { return world != null; }
+    /**
+     * Gets the name of the world the pet is in.
+     * @return The world name, or null if the location is unknown.
+     */
+    public String getWorld() { return world; }
+    /**
+     * Gets the x coordinate of the pet. Only meaningful if {@link #hasLocation()} is true.
+     * @return The x coordinate.
+     */
+    public double getX() { return x; }
+    /**
+     * Gets the y coordinate of the pet. Only meaningful if {@link #hasLocation()} is true.
+     * @return The y coordinate.
+     */
+    public double getY() { return y; }
+    /**
+     * Gets the z coordinate of the pet. Only meaningful if {@link #hasLocation()} is true.
+     * @return The z coordinate.
+     */
+    public double getZ() { return z; }
+
+    /**
+     * Computes which fields changed since an earlier snapshot of the same pet.
+     * @param previous The earlier snapshot, or null if there is none (all fields count as changed).
+     * @return The delta from {@code previous} to this snapshot.
+     */
+    public PetDataDelta diff(PetDataSnapshot previous) {
+        if (previous == null) {
+            return new PetDataDelta(this, EnumSet.allOf(PetField.class));
+        }
+        EnumSet<PetField> changed = EnumSet.noneOf(PetField.class);
+        if (!Objects.equals(type, previous.type)) {
+            changed.add(PetField.TYPE);
+        }
+        if (level != previous.level) {
+            changed.add(PetField.LEVEL);
+        }
+        if (Double.compare(health, previous.health) != 0 || Double.compare(maxHealth, previous.maxHealth) != 0) {
+            changed.add(PetField.HEALTH);
+        }
+        if (!Objects.equals(mood, previous.mood)) {
+            changed.add(PetField.MOOD);
+        }
+        if (!Objects.equals(world, previous.world) || Double.compare(x, previous.x) != 0
+                || Double.compare(y, previous.y) != 0 || Double.compare(z, previous.z) != 0) {
+            changed.add(PetField.LOCATION);
+        }
+        if (!Objects.equals(data, previous.data)) {
+            changed.add(PetField.DATA);
+        }
+        return new PetDataDelta(this, changed);
+    }
+
+    /**
+     * Parses the typed fields from a legacy {@code key=value} data string, ignoring unknown keys and malformed values.
+     */
+    private static final class Parser {
+        boolean found;
+        String type;
+        int level;
+        double health = Double.NaN;
+        double maxHealth = Double.NaN;
+        String mood;
+        String world;
+        double x;
+        double y;
+        double z;
+
+        Parser(String data) {
+            if (data == null) {
+                return;
+            }
+            for (String pair : data.split("[,;\\n]")) {
+                int separator = pair.indexOf('=');
+                if (separator < 0) {
+                    separator = pair.indexOf(':');
+                }
+                if (separator < 0) {
+                    continue;
+                }
+                String key = pair.substring(0, separator).trim().toLowerCase(Locale.ROOT);
+                String value = pair.substring(separator + 1).trim();
+                try {
+                    switch (key) {
+                        case "type": type = value; break;
+                        case "level": level = Integer.parseInt(value); break;
+                        case "health": health = Double.parseDouble(value); break;
+                        case "maxhealth": case "max_health": maxHealth = Double.parseDouble(value); break;
+                        case "mood": mood = value; break;
+                        case "world": world = value; break;
+                        case "x": x = Double.parseDouble(value); break;
+                        case "y": y = Double.parseDouble(value); break;
+                        case "z": z = Double.parseDouble(value); break;
+                        default: continue;
+                    }
+                    found = true;
+                } catch (NumberFormatException e) {
+                    // Malformed values leave the field unknown
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,228 @@
+package com.nsr.ai.api;
+
+import java.util.ArrayDeque;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Fans pet events from the core plugin out to filtered subscriptions.
+ * <p>
+ * The bus registers itself as the core's {@link PetListener}, and again with every core that registers later, so
+ * subscriptions survive core reloads. For each event it only looks at subscriptions for the event's owner and at
+ * subscriptions for all owners, and skips those not interested in the event kind, so listeners are never woken for
+ * other players' pets. Matching events go into the subscription's bounded ring buffer
+ * (dropping the oldest event when full) and are delivered in order by a small worker pool; the core's thread never
+ * runs listener code. Coalescing subscriptions keep only the latest snapshot per owner and kind until it is delivered.
+ */
+final class PetEventBus implements PetListener {
+
+    static final int BUFFER_CAPACITY = 256;
+    // Events delivered per drain before yielding the worker to other subscriptions
+    private static final int DRAIN_BATCH = 32;
+
+    private final ConcurrentHashMap<UUID, CopyOnWriteArrayList<Subscription>> byOwner = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<Subscription> anyOwner = new CopyOnWriteArrayList<>();
+    private final ExecutorService workers;
+
+    PetEventBus() {
+        // At least two workers, so one slow listener cannot hold up every other subscription
+        int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "NSR-AI Pet Events #" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        this.workers = executor;
+    }
+
+    PetSubscription subscribe(UUID owner, Set<PetEventKind> kinds, boolean coalesce, PetListener listener) {
+        Objects.requireNonNull(listener, "listener");
+        Subscription subscription = new Subscription(owner, kinds.isEmpty() ? EnumSet.allOf(PetEventKind.class) : EnumSet.copyOf(kinds), coalesce, listener);
+        if (owner == null) {
+            anyOwner.add(subscription);
+        } else {
+            // Add inside compute, so a concurrent removal cannot drop the list this subscription was added to
+            byOwner.compute(owner, (k, list) -> {
+                CopyOnWriteArrayList<Subscription> subscriptions = list == null ? new CopyOnWriteArrayList<>() : list;
+                subscriptions.add(subscription);
+                return subscriptions;
+            });
+        }
+        return subscription;
+    }
+
+    @Override
+    public void onPetEvent(PetDataSnapshot petData) {
+        onPetEvent(PetEventKind.UPDATE, petData);
+    }
+
+    @Override
+    public void onPetEvent(PetEventKind kind, PetDataSnapshot petData) {
+        UUID owner = petData.getOwner();
+        CopyOnWriteArrayList<Subscription> owned = owner == null ? null : byOwner.get(owner);
+        if (owned != null) {
+            for (Subscription subscription : owned) {
+                subscription.offer(kind, petData);
+            }
+        }
+        for (Subscription subscription : anyOwner) {
+            subscription.offer(kind, petData);
+        }
+    }
+
+    private void remove(Subscription subscription) {
+        if (subscription.owner == null) {
+            anyOwner.remove(subscription);
+        } else {
+            byOwner.computeIfPresent(subscription.owner, (k, list) -> {
+                list.remove(subscription);
+                return list.isEmpty() ? null : list;
+            });
+        }
+    }
+
+    private final class Subscription implements PetSubscription, Runnable {
+        final UUID owner;
+        final EnumSet<PetEventKind> kinds;
+        final PetListener listener;
+        // Ring buffer of events, or of coalescing keys whose latest snapshot is in {@code latest}; guarded by this
+        final ArrayDeque<Object> buffer = new ArrayDeque<>();
+        final Map<Object, Event> latest;
+        boolean scheduled;
+        volatile boolean cancelled;
+        long dropped;
+
+        Subscription(UUID owner, EnumSet<PetEventKind> kinds, boolean coalesce, PetListener listener) {
+            this.owner = owner;
+            this.kinds = kinds;
+            this.listener = listener;
+            this.latest = coalesce ? new LinkedHashMap<>() : null;
+        }
+
+        void offer(PetEventKind kind, PetDataSnapshot petData) {
+            if (cancelled || !kinds.contains(kind)) {
+                return;
+            }
+            Event event = new Event(kind, petData);
+            boolean schedule;
+            synchronized (this) {
+                if (latest != null) {
+                    CoalescingKey key = new CoalescingKey(petData.getOwner(), kind);
+                    if (latest.put(key, event) == null) {
+                        push(key);
+                    }
+                } else {
+                    push(event);
+                }
+                schedule = !scheduled;
+                scheduled = true;
+            }
+            if (schedule) {
+                workers.execute(this);
+            }
+        }
+
+        private void push(Object element) {
+            if (buffer.size() == BUFFER_CAPACITY) {
+                Object oldest = buffer.pollFirst();
+                if (latest != null) {
+                    latest.remove(oldest);
+                }
+                dropped++;
+            }
+            buffer.addLast(element);
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < DRAIN_BATCH; i++) {
+                Event event;
+                synchronized (this) {
+                    Object next = buffer.pollFirst();
+                    if (next == null || cancelled) {
+                        scheduled = false;
+                        return;
+                    }
+                    event = latest != null ? latest.remove(next) : (Event) next;
+                }
+                long start = MetricsRegistry.PET_LISTENERS.start();
+                try {
+                    listener.onPetEvent(event.kind, event.petData);
+                    MetricsRegistry.PET_LISTENERS.stop(start);
+                } catch (RuntimeException e) {
+                    MetricsRegistry.PET_LISTENERS.fail(start);
+                    NSRaiAPI.logger().log(Level.WARNING, "Pet listener " + listener.getClass().getName() + " failed", e);
+                }
+            }
+            // More events are waiting: requeue behind other subscriptions instead of monopolizing the worker
+            workers.execute(this);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            remove(this);
+            synchronized (this) {
+                buffer.clear();
+                if (latest != null) {
+                    latest.clear();
+                }
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public synchronized long getDroppedEvents() {
+            return dropped;
+        }
+    }
+
+    private static final class Event {
+        final PetEventKind kind;
+        final PetDataSnapshot petData;
+
+        Event(PetEventKind kind, PetDataSnapshot petData) {
+            this.kind = kind;
+            this.petData = petData;
+        }
+    }
+
+    private static final class CoalescingKey {
+        final UUID owner;
+        final PetEventKind kind;
+
+        CoalescingKey(UUID owner, PetEventKind kind) {
+            this.owner = owner;
+            this.kind = kind;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof CoalescingKey && Objects.equals(((CoalescingKey) other).owner, owner)
+                    && ((CoalescingKey) other).kind == kind;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(owner) * 31 + kind.hashCode();
+        }
+    }
+}
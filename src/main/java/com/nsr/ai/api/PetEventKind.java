@@ -0,0 +1,14 @@
+package com.nsr.ai.api;
+
+/**
+ * The kinds of pet events, used to filter pet event subscriptions.
+ * @see NSRaiAPI#subscribePetEvents(java.util.UUID, java.util.Set, boolean, PetListener)
+ */
+public enum PetEventKind {
+    /** A pet was spawned into the world. */
+    SPAWN,
+    /** A pet's data (e.g. mood or bond level) changed. Cores that do not report event kinds deliver all events as updates. */
+    UPDATE,
+    /** A pet was removed from the world. */
+    DESPAWN
+}
@@ -0,0 +1,19 @@
+package com.nsr.ai.api;
+
+/**
+ * The fields of a {@link PetDataSnapshot}, as reported by {@link PetDataDelta#getChangedFields()}.
+ */
+public enum PetField {
+    /** The pet type. */
+    TYPE,
+    /** The pet level. */
+    LEVEL,
+    /** The current or maximum health. */
+    HEALTH,
+    /** The mood. */
+    MOOD,
+    /** The world or coordinates. */
+    LOCATION,
+    /** The raw data string. */
+    DATA
+}
@@ -9,4 +9,14 @@ public interface PetListener {
      * @param petData A snapshot of the pet's data at the time of the event.
      */
     void onPetEvent(PetDataSnapshot petData);
+
+    /**
+     * Called when a pet-related event of a known kind occurs. Cores that report event kinds call this method;
+     * by default it forwards to {@link #onPetEvent(PetDataSnapshot)}.
+     * @param kind The kind of the event.
+     * @param petData A snapshot of the pet's data at the time of the event.
+     */
+    default void onPetEvent(PetEventKind kind, PetDataSnapshot petData) {
+        onPetEvent(petData);
+    }
 }
@@ -0,0 +1,24 @@
+package com.nsr.ai.api;
+
+/**
+ * A subscription to pet events, returned by {@link NSRaiAPI#subscribePetEvents(java.util.UUID, java.util.Set, boolean, PetListener)}.
+ * Each subscription has its own bounded event buffer, so a slow listener only ever delays and drops its own events.
+ */
+public interface PetSubscription {
+    /**
+     * Cancels the subscription. Events already buffered are discarded.
+     */
+    void cancel();
+
+    /**
+     * Checks whether the subscription has been cancelled.
+     * @return true if cancelled, false otherwise.
+     */
+    boolean isCancelled();
+
+    /**
+     * Gets the number of events dropped because the listener fell too far behind.
+     * @return The dropped event count.
+     */
+    long getDroppedEvents();
+}
@@ -0,0 +1,18 @@
+package com.nsr.ai.api;
+
+/**
+ * The AI enablement and admin mode of a player as last reported by the core, mirrored for
+ * {@link NSRaiAPI#getPlayerStates(java.util.Collection)} when the core cannot take bulk snapshots.
+ * This class is immutable.
+ */
+final class PlayerFlags {
+    final boolean aiEnabled;
+    final boolean adminMode;
+    final long checkedAtNanos;
+
+    PlayerFlags(boolean aiEnabled, boolean adminMode, long checkedAtNanos) {
+        this.aiEnabled = aiEnabled;
+        this.adminMode = adminMode;
+        this.checkedAtNanos = checkedAtNanos;
+    }
+}
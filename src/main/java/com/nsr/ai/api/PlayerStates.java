@@ -0,0 +1,105 @@
+package com.nsr.ai.api;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A snapshot of the AI-related state of many players, taken in one call.
+ * States are stored in bitsets and primitive arrays indexed by the player's position in the queried collection,
+ * so reading them in a loop allocates nothing. Players can also be looked up by UUID.
+ * This class is immutable.
+ * @see NSRaiAPI#getPlayerStates(java.util.Collection)
+ */
+public final class PlayerStates {
+    private final UUID[] players;
+    private final BitSet aiEnabled;
+    private final BitSet adminMode;
+    private final long[] cooldownRemaining;
+    private volatile Map<UUID, Integer> index;
+
+    /**
+     * Constructs a new PlayerStates snapshot. The arguments are copied, so the caller may reuse them afterwards.
+     * @param players The UUIDs of the players, in query order.
+     * @param aiEnabled The indexes of players with AI enabled.
+     * @param adminMode The indexes of players with admin mode enabled.
+     * @param cooldownRemaining The remaining chat cooldown of each player in milliseconds, 0 if not on cooldown.
+     * @throws IllegalArgumentException if the cooldown array does not have one entry per player.
+     */
+    public PlayerStates(UUID[] players, BitSet aiEnabled, BitSet adminMode, long[] cooldownRemaining) {
+        this(players, aiEnabled, adminMode, cooldownRemaining, true);
+    }
+
+    private PlayerStates(UUID[] players, BitSet aiEnabled, BitSet adminMode, long[] cooldownRemaining, boolean copy) {
+        if (cooldownRemaining.length != players.length) {
+            throw new IllegalArgumentException("Expected " + players.length + " cooldowns but got " + cooldownRemaining.length);
+        }
+        this.players = copy ? players.clone() : players;
+        this.aiEnabled = copy ? (BitSet) aiEnabled.clone() : aiEnabled;
+        this.adminMode = copy ? (BitSet) adminMode.clone() : adminMode;
+        this.cooldownRemaining = copy ? cooldownRemaining.clone() : cooldownRemaining;
+    }
+
+    /**
+     * Wraps arrays built for this snapshot alone without copying them.
+     */
+    static PlayerStates wrap(UUID[] players, BitSet aiEnabled, BitSet adminMode, long[] cooldownRemaining) {
+        return new PlayerStates(players, aiEnabled, adminMode, cooldownRemaining, false);
+    }
+
+    /**
+     * Gets the number of players in the snapshot.
+     * @return The player count.
+     */
+    public int size() { return players.length; }
+    /**
+     * Gets the UUID of the player at an index.
+     * @param index The index of the player in the queried collection.
+     * @return The player's UUID.
+     */
+    public UUID getPlayerId(int index) { return players[index]; }
+    /**
+     * Checks whether AI is enabled for the player at an index.
+     * @param index The index of the player in the queried collection.
+     * @return true if AI is enabled, false otherwise.
+     */
+    public boolean isAiEnabled(int index) { return aiEnabled.get(index); }
+    /**
+     * Checks whether admin mode is enabled for the player at an index.
+     * @param index The index of the player in the queried collection.
+     * @return true if admin mode is enabled, false otherwise.
+     */
+    public boolean isAdminModeEnabled(int index) { return adminMode.get(index); }
+    /**
+     * Checks whether the player at an index is on chat cooldown.
+     * @param index The index of the player in the queried collection.
+     * @return true if the player is on cooldown, false otherwise.
+     */
+    public boolean isOnCooldown(int index) { return cooldownRemaining[index] > 0; }
+    /**
+     * Gets the remaining chat cooldown of the player at an index.
+     * @param index The index of the player in the queried collection.
+     * @return The remaining cooldown in milliseconds, or 0 if not on cooldown.
+     */
+    public long getCooldownRemaining(int index) { return cooldownRemaining[index]; }
+
+    /**
+     * Finds the index of a player in the snapshot.
+     * @param playerId The UUID of the player.
+     * @return The player's index, or -1 if the player is not in the snapshot.
+     */
+    public int indexOf(UUID playerId) {
+        Map<UUID, Integer> lookup = index;
+        if (lookup == null) {
+            // Built on first lookup only; callers iterating by index never pay for it
+            lookup = new HashMap<>(players.length * 2);
+            for (int i = 0; i < players.length; i++) {
+                lookup.put(players[i], i);
+            }
+            index = lookup;
+        }
+        Integer position = lookup.get(playerId);
+        return position == null ? -1 : position;
+    }
+}
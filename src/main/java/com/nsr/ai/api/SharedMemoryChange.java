@@ -0,0 +1,44 @@
+package com.nsr.ai.api;
+
+import java.util.Optional;
+
+/**
+ * Describes a change of one shared memory key.
+ * When several changes to the key are coalesced, the old value is the value before the first change
+ * and the new value the value after the last one.
+ * This class is immutable.
+ * @see SharedMemoryListener
+ */
+public final class SharedMemoryChange {
+    private final String key;
+    private final String oldValue;
+    private final String newValue;
+
+    /**
+     * Constructs a new SharedMemoryChange.
+     * @param key The changed key.
+     * @param oldValue The previous value, or null if the key was absent.
+     * @param newValue The new value, or null if the key was removed or expired.
+     */
+    SharedMemoryChange(String key, String oldValue, String newValue) {
+        this.key = key;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    /**
+     * Gets the changed key.
+     * @return The key.
+     */
+    public String getKey() { return key; }
+    /**
+     * Gets the value of the key before the change.
+     * @return An Optional containing the previous value, or empty if the key was absent.
+     */
+    public Optional<String> getOldValue() { return Optional.ofNullable(oldValue); }
+    /**
+     * Gets the value of the key after the change.
+     * @return An Optional containing the new value, or empty if the key was removed, expired or evicted.
+     */
+    public Optional<String> getNewValue() { return Optional.ofNullable(newValue); }
+}
@@ -0,0 +1,45 @@
+package com.nsr.ai.api;
+
+/**
+ * A value stored in the shared memory, together with its version and expiry time.
+ * This class is immutable.
+ * @see SharedMemoryStore
+ */
+public final class SharedMemoryEntry {
+    private final String value;
+    private final long version;
+    private final long expiresAt;
+
+    /**
+     * Constructs a new SharedMemoryEntry.
+     * @param value The stored value.
+     * @param version The version assigned by the store when the value was written.
+     * @param expiresAt The time in epoch milliseconds at which the entry expires, or 0 if it never expires.
+     */
+    SharedMemoryEntry(String value, long version, long expiresAt) {
+        this.value = value;
+        this.version = version;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Gets the stored value.
+     * @return The value.
+     */
+    public String getValue() { return value; }
+    /**
+     * Gets the version of the entry. Every write to the store assigns a new, larger version,
+     * so the version identifies exactly one write and can be passed to {@link SharedMemoryStore#compareAndSet(String, long, String)}.
+     * @return The version, always positive.
+     */
+    public long getVersion() { return version; }
+    /**
+     * Gets the time at which the entry expires.
+     * @return The expiry time in epoch milliseconds, or 0 if the entry never expires.
+     */
+    public long getExpiresAt() { return expiresAt; }
+
+    boolean isExpired(long now) {
+        return expiresAt != 0 && now >= expiresAt;
+    }
+}
@@ -0,0 +1,14 @@
+package com.nsr.ai.api;
+
+/**
+ * Listener interface for shared memory changes.
+ * @see NSRaiAPI#watchSharedMemory(String, SharedMemoryListener)
+ */
+public interface SharedMemoryListener {
+    /**
+     * Called after a watched key has changed, on the shared memory notification thread (never the main server thread).
+     * Changes made to the same key in quick succession are delivered as a single change.
+     * @param change The key with its previous and new value.
+     */
+    void onSharedMemoryChanged(SharedMemoryChange change);
+}
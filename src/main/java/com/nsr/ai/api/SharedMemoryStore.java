@@ -0,0 +1,474 @@
+package com.nsr.ai.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * A concurrent key-value store for sharing state between addons and across async AI callbacks.
+ * <p>
+ * Reads never lock, and writes to different keys do not contend. Every write assigns the entry a new version
+ * from a store-wide sequence, so optimistic updates can use {@link #compareAndSet(String, long, String)}
+ * without ABA problems. Entries may expire after a time-to-live; expired entries are invisible to readers
+ * and removed in the background. When the store holds more than its maximum number of entries,
+ * the least recently written entries are evicted.
+ * <p>
+ * If the store is backed by a file, changes are written behind: a background thread writes a snapshot
+ * of the store at most once per flush interval, and only if something changed. Snapshots replace the file atomically,
+ * so a crash loses at most the last interval of writes but never corrupts the file.
+ * <p>
+ * Keys can be {@link #watch(String, SharedMemoryListener) watched} instead of polled. Changes are delivered on a
+ * background thread, and bursts of changes to the same key within {@value #WATCH_WINDOW_MILLIS} ms are coalesced into one notification.
+ * All methods are thread-safe.
+ */
+public final class SharedMemoryStore implements AutoCloseable {
+
+    private static final int MAGIC = 0x4E53524D;
+    private static final int FORMAT_VERSION = 1;
+    /** The window in milliseconds within which changes of the same key are coalesced into one notification. */
+    public static final long WATCH_WINDOW_MILLIS = 50;
+    private static final int WATCH_CAPACITY = 4096;
+
+    private final ConcurrentHashMap<String, SharedMemoryEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final int maxEntries;
+    private final long defaultTtlMillis;
+    private final Path file;
+
+    // Write order for eviction; nodes whose version no longer matches the entry are stale and skipped
+    private final ConcurrentLinkedQueue<WriteNode> writeOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger writeOrderSize = new AtomicInteger();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final SharedMemoryWatcher watcher = new SharedMemoryWatcher(WATCH_WINDOW_MILLIS, WATCH_CAPACITY);
+    private final ScheduledExecutorService maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "NSR-AI Shared Memory");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructs a new in-memory SharedMemoryStore.
+     * @param maxEntries The maximum number of entries to keep.
+     * @param defaultTtlMillis The time-to-live of entries written without an explicit one, in milliseconds, or 0 for no expiry.
+     * @throws IllegalArgumentException if {@code maxEntries} is less than 1 or {@code defaultTtlMillis} is negative.
+     */
+    public SharedMemoryStore(int maxEntries, long defaultTtlMillis) {
+        this(maxEntries, defaultTtlMillis, null, 1000);
+    }
+
+    /**
+     * Constructs a new SharedMemoryStore persisted to a file. Entries stored in the file are loaded immediately.
+     * @param maxEntries The maximum number of entries to keep.
+     * @param defaultTtlMillis The time-to-live of entries written without an explicit one, in milliseconds, or 0 for no expiry.
+     * @param file The file to persist the store to, or null to keep the store in memory only.
+     * @param flushIntervalMillis How often changes are written to the file, in milliseconds.
+     * @throws IllegalArgumentException if {@code maxEntries} or {@code flushIntervalMillis} is less than 1 or {@code defaultTtlMillis} is negative.
+     * @throws UncheckedIOException if the file exists but cannot be read or is corrupt.
+     */
+    public SharedMemoryStore(int maxEntries, long defaultTtlMillis, Path file, long flushIntervalMillis) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1: " + maxEntries);
+        }
+        if (defaultTtlMillis < 0) {
+            throw new IllegalArgumentException("defaultTtlMillis must not be negative: " + defaultTtlMillis);
+        }
+        if (flushIntervalMillis < 1) {
+            throw new IllegalArgumentException("flushIntervalMillis must be at least 1: " + flushIntervalMillis);
+        }
+        this.maxEntries = maxEntries;
+        this.defaultTtlMillis = defaultTtlMillis;
+        this.file = file;
+        if (file != null && Files.exists(file)) {
+            load();
+        }
+        maintenance.scheduleWithFixedDelay(this::maintain, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the value of a key.
+     * @param key The key.
+     * @return An Optional containing the value, or empty if the key is absent or expired.
+     */
+    public Optional<String> get(String key) {
+        return getEntry(key).map(SharedMemoryEntry::getValue);
+    }
+
+    /**
+     * Gets the entry of a key, including its version for a later {@link #compareAndSet(String, long, String)}.
+     * @param key The key.
+     * @return An Optional containing the entry, or empty if the key is absent or expired.
+     */
+    public Optional<SharedMemoryEntry> getEntry(String key) {
+        SharedMemoryEntry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            if (entries.remove(key, entry)) {
+                dirty.set(true);
+                watcher.changed(key, entry.getValue(), null);
+            }
+            return Optional.empty();
+        }
+        return Optional.of(entry);
+    }
+
+    /**
+     * Gets the values of many keys at once.
+     * @param keys The keys.
+     * @return A map of the keys that are present and not expired to their values.
+     */
+    public Map<String, String> getAll(Collection<String> keys) {
+        Map<String, String> result = new HashMap<>();
+        long now = System.currentTimeMillis();
+        for (String key : keys) {
+            SharedMemoryEntry entry = entries.get(key);
+            if (entry != null && !entry.isExpired(now)) {
+                result.put(key, entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sets the value of a key using the default time-to-live.
+     * @param key The key.
+     * @param value The value; must not be null.
+     * @return The new version of the entry.
+     */
+    public long put(String key, String value) {
+        return put(key, value, defaultTtlMillis);
+    }
+
+    /**
+     * Sets the value of a key.
+     * @param key The key.
+     * @param value The value.
+     * @param ttlMillis The time-to-live of the entry in milliseconds, or 0 for no expiry.
+     * @return The new version of the entry.
+     * @throws IllegalArgumentException if {@code ttlMillis} is negative.
+     */
+    public long put(String key, String value, long ttlMillis) {
+        SharedMemoryEntry entry = newEntry(value, ttlMillis);
+        SharedMemoryEntry previous = entries.put(key, entry);
+        written(key, previous, entry);
+        evictIfFull();
+        return entry.getVersion();
+    }
+
+    /**
+     * Sets the values of many keys using the default time-to-live.
+     * Each key is updated atomically, but readers may observe some of the keys updated before others.
+     * @param values A map of keys to their new values.
+     */
+    public void putAll(Map<String, String> values) {
+        for (Map.Entry<String, String> value : values.entrySet()) {
+            SharedMemoryEntry entry = newEntry(value.getValue(), defaultTtlMillis);
+            SharedMemoryEntry previous = entries.put(value.getKey(), entry);
+            written(value.getKey(), previous, entry);
+        }
+        evictIfFull();
+    }
+
+    /**
+     * Sets the value of a key if its entry still has the expected version, using the default time-to-live.
+     * @param key The key.
+     * @param expectedVersion The version from {@link SharedMemoryEntry#getVersion()}, or 0 to require the key to be absent.
+     * @param value The new value.
+     * @return The new version of the entry, or 0 if the entry had a different version and nothing was written.
+     */
+    public long compareAndSet(String key, long expectedVersion, String value) {
+        SharedMemoryEntry replacement = newEntry(value, defaultTtlMillis);
+        long now = System.currentTimeMillis();
+        boolean[] swapped = new boolean[1];
+        SharedMemoryEntry[] previous = new SharedMemoryEntry[1];
+        entries.compute(key, (k, current) -> {
+            if (current != null && current.isExpired(now)) {
+                current = null;
+            }
+            if ((current == null ? 0 : current.getVersion()) != expectedVersion) {
+                return current;
+            }
+            swapped[0] = true;
+            previous[0] = current;
+            return replacement;
+        });
+        if (!swapped[0]) {
+            return 0;
+        }
+        written(key, previous[0], replacement);
+        evictIfFull();
+        return replacement.getVersion();
+    }
+
+    /**
+     * Removes a key.
+     * @param key The key.
+     * @return True if the key was present and not expired.
+     */
+    public boolean remove(String key) {
+        SharedMemoryEntry removed = entries.remove(key);
+        if (removed == null) {
+            return false;
+        }
+        dirty.set(true);
+        watcher.changed(key, removed.getValue(), null);
+        return !removed.isExpired(System.currentTimeMillis());
+    }
+
+    /**
+     * Watches a key, or all keys starting with a prefix, for changes.
+     * @param keyOrPrefix The key to watch, or a prefix followed by {@code *} (e.g. {@code "quiz:*"}) to watch all keys starting with it.
+     * @param listener The listener to notify. Registering the same listener for the same key or prefix twice has no effect.
+     */
+    public void watch(String keyOrPrefix, SharedMemoryListener listener) {
+        watcher.watch(keyOrPrefix, listener);
+    }
+
+    /**
+     * Removes all watches of a listener.
+     * @param listener The listener to remove.
+     */
+    public void unwatch(SharedMemoryListener listener) {
+        watcher.unwatch(listener);
+    }
+
+    /**
+     * Gets the number of change notifications dropped because too many keys had undelivered changes.
+     * @return The dropped notification count.
+     */
+    public long getDroppedNotificationCount() {
+        return watcher.getDroppedCount();
+    }
+
+    /**
+     * Gets the number of entries, including expired entries not yet removed.
+     * @return The number of entries.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Writes the store to its file now, if it is backed by one and has changed since the last write.
+     * @throws UncheckedIOException if the file cannot be written.
+     */
+    public synchronized void flush() {
+        if (file == null || !dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            writeSnapshot();
+        } catch (IOException e) {
+            dirty.set(true);
+            throw new UncheckedIOException("Cannot write shared memory to " + file, e);
+        }
+    }
+
+    /**
+     * Stops the background thread and writes any pending changes to the file.
+     * @throws UncheckedIOException if the file cannot be written.
+     */
+    @Override
+    public void close() {
+        watcher.shutdown();
+        maintenance.shutdown();
+        try {
+            maintenance.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private SharedMemoryEntry newEntry(String value, long ttlMillis) {
+        Objects.requireNonNull(value, "value");
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("ttlMillis must not be negative: " + ttlMillis);
+        }
+        long expiresAt = ttlMillis == 0 ? 0 : System.currentTimeMillis() + ttlMillis;
+        return new SharedMemoryEntry(value, sequence.incrementAndGet(), expiresAt);
+    }
+
+    private void written(String key, SharedMemoryEntry previous, SharedMemoryEntry entry) {
+        writeOrder.add(new WriteNode(key, entry.getVersion()));
+        writeOrderSize.incrementAndGet();
+        dirty.set(true);
+        String oldValue = previous == null || previous.isExpired(System.currentTimeMillis()) ? null : previous.getValue();
+        watcher.changed(key, oldValue, entry.getValue());
+    }
+
+    private void evictIfFull() {
+        while (entries.size() > maxEntries) {
+            WriteNode oldest = writeOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            writeOrderSize.decrementAndGet();
+            SharedMemoryEntry entry = entries.get(oldest.key);
+            if (entry != null && entry.getVersion() == oldest.version && entries.remove(oldest.key, entry)) {
+                watcher.changed(oldest.key, entry.getValue(), null);
+            }
+        }
+        // Repeated writes to the same keys leave stale nodes behind; drop them once they dominate the queue
+        if (writeOrderSize.get() > 2 * entries.size() + 64 && pruning.compareAndSet(false, true)) {
+            try {
+                pruneWriteOrder();
+            } finally {
+                pruning.set(false);
+            }
+        }
+    }
+
+    private void pruneWriteOrder() {
+        for (Iterator<WriteNode> it = writeOrder.iterator(); it.hasNext(); ) {
+            WriteNode node = it.next();
+            SharedMemoryEntry entry = entries.get(node.key);
+            if (entry == null || entry.getVersion() != node.version) {
+                it.remove();
+                writeOrderSize.decrementAndGet();
+            }
+        }
+    }
+
+    private void maintain() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, SharedMemoryEntry> entry : entries.entrySet()) {
+            if (entry.getValue().isExpired(now) && entries.remove(entry.getKey(), entry.getValue())) {
+                dirty.set(true);
+                watcher.changed(entry.getKey(), entry.getValue().getValue(), null);
+            }
+        }
+        if (writeOrderSize.get() > 2 * entries.size() + 64 && pruning.compareAndSet(false, true)) {
+            try {
+                pruneWriteOrder();
+            } finally {
+                pruning.set(false);
+            }
+        }
+        try {
+            flush();
+        } catch (UncheckedIOException e) {
+            // Keep the store usable; the changes stay dirty and the next run retries the write
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        long now = System.currentTimeMillis();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        for (Map.Entry<String, SharedMemoryEntry> entry : entries.entrySet()) {
+            SharedMemoryEntry value = entry.getValue();
+            if (value.isExpired(now)) {
+                continue;
+            }
+            out.writeBoolean(true);
+            writeString(out, entry.getKey());
+            writeString(out, value.getValue());
+            out.writeLong(value.getVersion());
+            out.writeLong(value.getExpiresAt());
+        }
+        out.writeBoolean(false);
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeLong(crc.getValue());
+        out.flush();
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temporary, bytes.toByteArray());
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void load() {
+        try {
+            byte[] bytes = Files.readAllBytes(file);
+            if (bytes.length < Long.BYTES) {
+                throw new IOException("Truncated shared memory file");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length - Long.BYTES);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            in.skipNBytes(bytes.length - Long.BYTES);
+            if (in.readLong() != crc.getValue()) {
+                throw new IOException("Shared memory file checksum mismatch");
+            }
+            in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - Long.BYTES));
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Not a shared memory file or unsupported format version");
+            }
+            long now = System.currentTimeMillis();
+            long maxVersion = 0;
+            while (in.readBoolean()) {
+                String key = readString(in);
+                String value = readString(in);
+                long version = in.readLong();
+                long expiresAt = in.readLong();
+                maxVersion = Math.max(maxVersion, version);
+                SharedMemoryEntry entry = new SharedMemoryEntry(value, version, expiresAt);
+                if (!entry.isExpired(now)) {
+                    entries.put(key, entry);
+                }
+            }
+            sequence.set(maxVersion);
+            // Rebuild the eviction order from the versions, which follow write order
+            entries.entrySet().stream()
+                    .sorted(Map.Entry.comparingByValue((a, b) -> Long.compare(a.getVersion(), b.getVersion())))
+                    .forEach(entry -> written(entry.getKey(), null, entry.getValue()));
+            dirty.set(false);
+            evictIfFull();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load shared memory from " + file, e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[in.readInt()];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static final class WriteNode {
+        final String key;
+        final long version;
+
+        WriteNode(String key, long version) {
+            this.key = key;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.nsr.ai.api;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Delivers shared memory changes to watchers, coalescing bursts per key.
+ * <p>
+ * The first change of a key starts a window; further changes of that key within the window only update the pending
+ * new value. When the window closes, one {@link SharedMemoryChange} is delivered on the notification thread.
+ * Changes that end where they started (e.g. set and reset within the window) are not delivered at all.
+ * At most {@code capacity} keys can be pending; changes of further keys are dropped and counted.
+ * Changes of keys nobody watches cost a single map lookup.
+ */
+final class SharedMemoryWatcher {
+
+    private final ConcurrentHashMap<String, CopyOnWriteArrayList<SharedMemoryListener>> exact = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<PrefixWatch> prefixes = new CopyOnWriteArrayList<>();
+    private final ConcurrentHashMap<String, Pending> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final long windowMillis;
+    private final int capacity;
+    private final ScheduledExecutorService notifier = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "NSR-AI Shared Memory Notifier");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    SharedMemoryWatcher(long windowMillis, int capacity) {
+        this.windowMillis = windowMillis;
+        this.capacity = capacity;
+    }
+
+    synchronized void watch(String keyOrPrefix, SharedMemoryListener listener) {
+        Objects.requireNonNull(listener, "listener");
+        if (keyOrPrefix.endsWith("*")) {
+            prefixes.addIfAbsent(new PrefixWatch(keyOrPrefix.substring(0, keyOrPrefix.length() - 1), listener));
+        } else {
+            exact.computeIfAbsent(keyOrPrefix, k -> new CopyOnWriteArrayList<>()).addIfAbsent(listener);
+        }
+    }
+
+    synchronized void unwatch(SharedMemoryListener listener) {
+        prefixes.removeIf(watch -> watch.listener == listener);
+        exact.values().forEach(listeners -> listeners.remove(listener));
+        exact.values().removeIf(CopyOnWriteArrayList::isEmpty);
+    }
+
+    boolean isWatched(String key) {
+        if (exact.containsKey(key)) {
+            return true;
+        }
+        for (PrefixWatch watch : prefixes) {
+            if (key.startsWith(watch.prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Records a change of a key.
+     * @param key The changed key.
+     * @param oldValue The previous value, or null if the key was absent.
+     * @param newValue The new value, or null if the key was removed.
+     */
+    void changed(String key, String oldValue, String newValue) {
+        if (Objects.equals(oldValue, newValue) || !isWatched(key)) {
+            return;
+        }
+        boolean[] started = new boolean[1];
+        pending.compute(key, (k, current) -> {
+            if (current != null) {
+                current.newValue = newValue;
+                return current;
+            }
+            if (pendingCount.get() >= capacity) {
+                dropped.incrementAndGet();
+                return null;
+            }
+            pendingCount.incrementAndGet();
+            started[0] = true;
+            return new Pending(oldValue, newValue);
+        });
+        if (started[0]) {
+            try {
+                notifier.schedule(() -> deliver(key), windowMillis, TimeUnit.MILLISECONDS);
+            } catch (java.util.concurrent.RejectedExecutionException e) {
+                // Shut down: changes are no longer delivered
+                pending.remove(key);
+                pendingCount.decrementAndGet();
+            }
+        }
+    }
+
+    void shutdown() {
+        notifier.shutdown();
+    }
+
+    private void deliver(String key) {
+        Pending change = pending.remove(key);
+        if (change == null) {
+            return;
+        }
+        pendingCount.decrementAndGet();
+        // Reads of the pending values are safe: the remove above happens-after every compute that updated them
+        if (Objects.equals(change.oldValue, change.newValue)) {
+            return;
+        }
+        SharedMemoryChange event = new SharedMemoryChange(key, change.oldValue, change.newValue);
+        CopyOnWriteArrayList<SharedMemoryListener> listeners = exact.get(key);
+        if (listeners != null) {
+            for (SharedMemoryListener listener : listeners) {
+                notify(listener, event);
+            }
+        }
+        for (PrefixWatch watch : prefixes) {
+            if (key.startsWith(watch.prefix)) {
+                notify(watch.listener, event);
+            }
+        }
+    }
+
+    private static void notify(SharedMemoryListener listener, SharedMemoryChange change) {
+        try {
+            listener.onSharedMemoryChanged(change);
+        } catch (RuntimeException e) {
+            NSRaiAPI.logger().log(Level.WARNING, "Shared memory listener " + listener.getClass().getName() + " failed", e);
+        }
+    }
+
+    private static final class Pending {
+        final String oldValue;
+        String newValue;
+
+        Pending(String oldValue, String newValue) {
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+    }
+
+    private static final class PrefixWatch {
+        final String prefix;
+        final SharedMemoryListener listener;
+
+        PrefixWatch(String prefix, SharedMemoryListener listener) {
+            this.prefix = prefix;
+            this.listener = listener;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof PrefixWatch && ((PrefixWatch) other).prefix.equals(prefix)
+                    && ((PrefixWatch) other).listener == listener;
+        }
+
+        @Override
+        public int hashCode() {
+            return prefix.hashCode() * 31 + System.identityHashCode(listener);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.nsr.ai.api;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Adapts a complete {@link AIResponse} future to a stream of exactly one final {@link AIResponseChunk}.
+ * Used when the core plugin does not support native streaming. Supports a single subscriber;
+ * the chunk is only delivered once the subscriber has requested it.
+ */
+final class SingleResponsePublisher implements Flow.Publisher<AIResponseChunk> {
+
+    private final CompletableFuture<AIResponse> source;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    SingleResponsePublisher(CompletableFuture<AIResponse> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super AIResponseChunk> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new ResponseSubscription(null));
+            subscriber.onError(new IllegalStateException("This AI response stream already has a subscriber."));
+            return;
+        }
+        subscriber.onSubscribe(new ResponseSubscription(subscriber));
+    }
+
+    private final class ResponseSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super AIResponseChunk> subscriber;
+        private final AtomicBoolean requested = new AtomicBoolean();
+        private volatile boolean cancelled;
+
+        private ResponseSubscription(Flow.Subscriber<? super AIResponseChunk> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (subscriber == null || cancelled) {
+                return;
+            }
+            if (n <= 0) {
+                cancelled = true;
+                subscriber.onError(new IllegalArgumentException("Requested chunk count must be positive: " + n));
+                return;
+            }
+            if (requested.compareAndSet(false, true)) {
+                source.whenComplete(this::deliver);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void deliver(AIResponse response, Throwable error) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            if (error != null) {
+                subscriber.onError(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            } else if (response == null || !response.isSuccess()) {
+                subscriber.onError(new IllegalStateException("AI failed to respond: "
+                        + (response == null ? "no response" : response.getResponse())));
+            } else {
+                subscriber.onNext(new AIResponseChunk(response.getResponse(), 0, true));
+                subscriber.onComplete();
+            }
+        }
+    }
+}
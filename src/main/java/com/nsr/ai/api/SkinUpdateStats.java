@@ -0,0 +1,56 @@
+package com.nsr.ai.api;
+
+/**
+ * A snapshot of the NPC skin update queue counters.
+ * This class is immutable.
+ * @see NSRaiAPI#queueNPCSkinUpdate(String, String, String)
+ */
+public final class SkinUpdateStats {
+    private final long appliedUpdates;
+    private final long coalescedUpdates;
+    private final int pendingUpdates;
+    private final long textureCacheHits;
+    private final long textureCacheMisses;
+
+    /**
+     * Constructs a new SkinUpdateStats snapshot.
+     * @param appliedUpdates The number of skin updates applied to NPCs.
+     * @param coalescedUpdates The number of queued updates replaced by a newer update for the same NPC before being applied.
+     * @param pendingUpdates The number of NPCs with an update waiting to be applied.
+     * @param textureCacheHits The number of updates whose texture was already validated.
+     * @param textureCacheMisses The number of updates whose texture had to be validated.
+     */
+    public SkinUpdateStats(long appliedUpdates, long coalescedUpdates, int pendingUpdates, long textureCacheHits, long textureCacheMisses) {
+        this.appliedUpdates = appliedUpdates;
+        this.coalescedUpdates = coalescedUpdates;
+        this.pendingUpdates = pendingUpdates;
+        this.textureCacheHits = textureCacheHits;
+        this.textureCacheMisses = textureCacheMisses;
+    }
+
+    /**
+     * Gets the number of skin updates applied to NPCs.
+     * @return The applied update count.
+     */
+    public long getAppliedUpdates() { return appliedUpdates; }
+    /**
+     * Gets the number of queued updates that were never applied because a newer update for the same NPC replaced them.
+     * @return The coalesced update count.
+     */
+    public long getCoalescedUpdates() { return coalescedUpdates; }
+    /**
+     * Gets the number of NPCs with an update waiting to be applied.
+     * @return The pending update count.
+     */
+    public int getPendingUpdates() { return pendingUpdates; }
+    /**
+     * Gets the number of updates whose texture and signature were found in the validation cache.
+     * @return The cache hit count.
+     */
+    public long getTextureCacheHits() { return textureCacheHits; }
+    /**
+     * Gets the number of updates whose texture and signature had to be decoded and validated.
+     * @return The cache miss count.
+     */
+    public long getTextureCacheMisses() { return textureCacheMisses; }
+}
@@ -0,0 +1,179 @@
+package com.nsr.ai.api;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Triggers conversation summarization automatically once a player's history grows past a threshold.
+ * Histories are checked against a token and a byte threshold; players over either threshold are summarized
+ * in the background, with at most {@code maxParallel} summarizations running at once and the rest queued.
+ * A player is never queued twice: checking a player whose summarization is pending returns the pending future.
+ * All methods are thread-safe.
+ */
+public final class SummarizationScheduler {
+
+    private final Function<UUID, ConversationStats> stats;
+    private final Function<UUID, CompletableFuture<Void>> summarizer;
+    private final long tokenThreshold;
+    private final long byteThreshold;
+    private final int maxParallel;
+    private final ConcurrentHashMap<UUID, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private final ArrayDeque<UUID> queue = new ArrayDeque<>();
+    private int running;
+    private int finished;
+    private boolean draining;
+
+    /**
+     * Constructs a new SummarizationScheduler.
+     * @param stats Supplies the current history statistics of a player, e.g. {@link ConversationHistoryStore#getStats(UUID)}.
+     * @param summarizer Summarizes a player's history and completes once done.
+     * @param tokenThreshold The estimated token count above which a history is summarized.
+     * @param byteThreshold The estimated byte size above which a history is summarized.
+     * @param maxParallel The maximum number of summarizations running at once.
+     * @throws IllegalArgumentException if a threshold or the parallelism is less than 1.
+     */
+    public SummarizationScheduler(Function<UUID, ConversationStats> stats, Function<UUID, CompletableFuture<Void>> summarizer,
+                                  long tokenThreshold, long byteThreshold, int maxParallel) {
+        if (tokenThreshold < 1 || byteThreshold < 1) {
+            throw new IllegalArgumentException("Thresholds must be at least 1: " + tokenThreshold + ", " + byteThreshold);
+        }
+        if (maxParallel < 1) {
+            throw new IllegalArgumentException("maxParallel must be at least 1: " + maxParallel);
+        }
+        this.stats = stats;
+        this.summarizer = summarizer;
+        this.tokenThreshold = tokenThreshold;
+        this.byteThreshold = byteThreshold;
+        this.maxParallel = maxParallel;
+    }
+
+    /**
+     * Checks a player's history and schedules its summarization if it is over a threshold.
+     * Call this after appending to a player's history.
+     * @param playerId The UUID of the player.
+     * @return A CompletableFuture that completes once the player's summarization (if any) has finished.
+     */
+    public CompletableFuture<Void> check(UUID playerId) {
+        CompletableFuture<Void> existing = pending.get(playerId);
+        if (existing != null) {
+            return existing;
+        }
+        ConversationStats current = stats.apply(playerId);
+        if (current.getEstimatedTokens() <= tokenThreshold && current.getEstimatedBytes() <= byteThreshold) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return submit(playerId);
+    }
+
+    /**
+     * Checks many players' histories, scheduling summarization for those over a threshold.
+     * @param playerIds The UUIDs of the players.
+     * @return A CompletableFuture that completes once all scheduled summarizations have finished.
+     */
+    public CompletableFuture<Void> checkAll(Collection<UUID> playerIds) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (UUID playerId : playerIds) {
+            CompletableFuture<Void> future = check(playerId);
+            if (!future.isDone()) {
+                futures.add(future);
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Schedules a player's summarization regardless of the thresholds.
+     * @param playerId The UUID of the player.
+     * @return A CompletableFuture that completes once the summarization has finished.
+     */
+    public CompletableFuture<Void> submit(UUID playerId) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        CompletableFuture<Void> existing = pending.putIfAbsent(playerId, future);
+        if (existing != null) {
+            return existing;
+        }
+        boolean start;
+        synchronized (this) {
+            start = running < maxParallel;
+            if (start) {
+                running++;
+            } else {
+                queue.addLast(playerId);
+            }
+        }
+        if (start) {
+            run(playerId);
+        }
+        return future;
+    }
+
+    /**
+     * Gets the number of players whose summarization is queued or running.
+     * @return The pending summarization count.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void run(UUID playerId) {
+        CompletableFuture<Void> result;
+        try {
+            result = summarizer.apply(playerId);
+            if (result == null) {
+                throw new IllegalStateException("Summarizer returned no result for " + playerId);
+            }
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((ignored, error) -> {
+            CompletableFuture<Void> future = pending.remove(playerId);
+            if (future != null) {
+                if (error != null) {
+                    future.completeExceptionally(error);
+                } else {
+                    future.complete(null);
+                }
+            }
+            finish();
+        });
+    }
+
+    /**
+     * Hands a finished summarization's slot to the next queued player, or returns it.
+     * Summarizations that complete synchronously finish from within {@link #run(UUID)}; those are only counted here
+     * and started by the thread already draining, in a loop, so a long queue never turns into a deep call stack.
+     */
+    private void finish() {
+        synchronized (this) {
+            finished++;
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        while (true) {
+            UUID next;
+            synchronized (this) {
+                if (finished == 0) {
+                    draining = false;
+                    return;
+                }
+                finished--;
+                next = queue.pollFirst();
+                if (next == null) {
+                    running--;
+                    continue;
+                }
+            }
+            run(next);
+        }
+    }
+}
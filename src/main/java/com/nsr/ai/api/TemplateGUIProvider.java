@@ -0,0 +1,195 @@
+package com.nsr.ai.api;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A {@link CustomGUIProvider} whose layout is built once as a template and copied for each player.
+ * <p>
+ * {@link #buildTemplate(ItemStack[])} fills the static layout the first time the GUI is opened; every later open only
+ * copies the template and lets {@link #personalize(Player, ItemStack[])} patch the per-player slots. Clicks are
+ * dispatched through an array indexed by slot to the handlers registered with {@link #onSlot(int, Consumer)}, and
+ * {@link #refresh(Inventory)} updates an open inventory by setting only the slots whose item changed.
+ * Every click inside the GUI is cancelled, so items cannot be taken out of the layout. So are shift-clicks and
+ * double-clicks in the player's own inventory, which would move items into or out of the GUI.
+ * <pre>{@code
+ * public final class ShopGUI extends TemplateGUIProvider {
+ *     public ShopGUI() {
+ *         super("AI Shop", 27);
+ *         onSlot(13, event -> NSRaiAPI.sendMessageToAI((Player) event.getWhoClicked(), new AIMessage("shop", null)));
+ *     }
+ *     protected void buildTemplate(ItemStack[] slots) { slots[13] = new ItemStack(Material.EMERALD); }
+ *     protected void personalize(Player player, ItemStack[] slots) { slots[26] = headOf(player); }
+ * }
+ * NSRaiAPI.registerCustomGUI("shop", new ShopGUI());
+ * }</pre>
+ * All methods must be called on the main server thread.
+ */
+public abstract class TemplateGUIProvider implements CustomGUIProvider {
+
+    private final String title;
+    private final int size;
+    private final Consumer<InventoryClickEvent>[] handlers;
+    private ItemStack[] template;
+
+    /**
+     * Constructs a new TemplateGUIProvider.
+     * @param title The title of the GUI.
+     * @param size The number of slots; a multiple of 9 between 9 and 54 (inclusive).
+     * @throws IllegalArgumentException if the size is not valid.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected TemplateGUIProvider(String title, int size) {
+        if (size < 9 || size > 54 || size % 9 != 0) {
+            throw new IllegalArgumentException("GUI size must be a multiple of 9 between 9 and 54: " + size);
+        }
+        this.title = title;
+        this.size = size;
+        this.handlers = new Consumer[size];
+    }
+
+    /**
+     * Fills the static layout of the GUI. Called once, when the GUI is first opened or after {@link #invalidateTemplate()}.
+     * @param slots The empty slot array to fill, one entry per slot.
+     */
+    protected abstract void buildTemplate(ItemStack[] slots);
+
+    /**
+     * Patches the per-player slots of a copy of the template. Does nothing by default.
+     * Only the slots that differ from the template need to be set. The items are copies as well,
+     * so they may be modified in place without affecting the template.
+     * @param player The player the GUI is for.
+     * @param slots A copy of the template to modify.
+     */
+    protected void personalize(Player player, ItemStack[] slots) {
+    }
+
+    /**
+     * Handles a click on a slot without a registered handler, or outside the GUI. Does nothing by default.
+     * Clicks inside the GUI, and clicks outside it that would move items into or out of it, arrive already cancelled;
+     * un-cancel the event to let a slot be used as input.
+     * @param event The InventoryClickEvent to handle.
+     */
+    protected void handleUnassignedClick(InventoryClickEvent event) {
+    }
+
+    /**
+     * Registers the handler for clicks on a slot, replacing any previous handler of that slot.
+     * The click is cancelled before the handler runs, so items cannot be taken out.
+     * @param slot The slot index.
+     * @param handler The handler to call, or null to remove the slot's handler.
+     * @throws IndexOutOfBoundsException if the slot is outside the GUI.
+     */
+    protected final void onSlot(int slot, Consumer<InventoryClickEvent> handler) {
+        Objects.checkIndex(slot, size);
+        handlers[slot] = handler;
+    }
+
+    /**
+     * Discards the template so it is built again on the next open, e.g. after prices in a shop changed.
+     * Open inventories keep their contents until they are {@link #refresh(Inventory) refreshed}.
+     */
+    public final void invalidateTemplate() {
+        template = null;
+    }
+
+    @Override
+    public final Inventory createInventory(Player player) {
+        Holder holder = new Holder(this, player);
+        Inventory inventory = Bukkit.createInventory(holder, size, title);
+        holder.inventory = inventory;
+        inventory.setContents(contentsFor(player));
+        return inventory;
+    }
+
+    /**
+     * Updates an inventory created by this provider to the current template and personalization,
+     * setting only the slots whose item changed.
+     * @param inventory The inventory to refresh.
+     * @return The number of slots that were updated.
+     * @throws IllegalArgumentException if the inventory was not created by this provider.
+     */
+    public final int refresh(Inventory inventory) {
+        InventoryHolder holder = inventory.getHolder();
+        if (!(holder instanceof Holder) || ((Holder) holder).provider != this) {
+            throw new IllegalArgumentException("Inventory was not created by this GUI provider");
+        }
+        ItemStack[] desired = contentsFor(((Holder) holder).player);
+        int updated = 0;
+        for (int slot = 0; slot < desired.length; slot++) {
+            if (!Objects.equals(inventory.getItem(slot), desired[slot])) {
+                inventory.setItem(slot, desired[slot]);
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public final void handleClick(InventoryClickEvent event) {
+        int slot = event.getRawSlot();
+        if (GUIClicks.reachesGUI(event, size)) {
+            event.setCancelled(true);
+        }
+        Consumer<InventoryClickEvent> handler = slot >= 0 && slot < size ? handlers[slot] : null;
+        if (handler == null) {
+            handleUnassignedClick(event);
+            return;
+        }
+        handler.accept(event);
+    }
+
+    @Override
+    public final String getTitle() {
+        return title;
+    }
+
+    @Override
+    public final int getSize() {
+        return size;
+    }
+
+    private ItemStack[] contentsFor(Player player) {
+        ItemStack[] current = template;
+        if (current == null) {
+            current = new ItemStack[size];
+            buildTemplate(current);
+            template = current;
+        }
+        // Copy the items too, so personalize can modify them without changing the template for everyone
+        ItemStack[] contents = new ItemStack[current.length];
+        for (int slot = 0; slot < current.length; slot++) {
+            if (current[slot] != null) {
+                contents[slot] = current[slot].clone();
+            }
+        }
+        personalize(player, contents);
+        return contents;
+    }
+
+    /**
+     * Identifies inventories created by a template provider and the player they belong to.
+     */
+    private static final class Holder implements InventoryHolder {
+        final TemplateGUIProvider provider;
+        final Player player;
+        Inventory inventory;
+
+        Holder(TemplateGUIProvider provider, Player player) {
+            this.provider = provider;
+            this.player = player;
+        }
+
+        @Override
+        public Inventory getInventory() {
+            return inventory;
+        }
+    }
+}
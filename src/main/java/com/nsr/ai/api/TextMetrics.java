@@ -0,0 +1,74 @@
+package com.nsr.ai.api;
+
+/**
+ * Allocation-free size estimates for message text, computed once when a message is created.
+ */
+final class TextMetrics {
+
+    // Object header plus the fields of a java.lang.String on a 64-bit JVM with compressed oops
+    private static final int STRING_OVERHEAD_BYTES = 24;
+    // Array header of the String's backing byte[]
+    private static final int ARRAY_OVERHEAD_BYTES = 16;
+    // Average number of UTF-8 bytes per token of typical chat text
+    private static final int BYTES_PER_TOKEN = 4;
+
+    private TextMetrics() {
+        // Utility class
+    }
+
+    /**
+     * Computes the number of bytes the text occupies when encoded as UTF-8, without encoding it.
+     * @param text The text, or null.
+     * @return The UTF-8 length in bytes; 0 for null.
+     */
+    static int utf8Length(String text) {
+        if (text == null) {
+            return 0;
+        }
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Estimates the number of model tokens of a text from its UTF-8 length.
+     * @param utf8Length The UTF-8 length of the text in bytes.
+     * @return The estimated token count; at least 1 for non-empty text.
+     */
+    static int estimateTokens(int utf8Length) {
+        return (utf8Length + BYTES_PER_TOKEN - 1) / BYTES_PER_TOKEN;
+    }
+
+    /**
+     * Estimates the heap size of a String, taking compact (Latin-1) strings into account.
+     * @param text The text, or null.
+     * @return The estimated size in bytes; 0 for null.
+     */
+    static int stringHeapBytes(String text) {
+        if (text == null) {
+            return 0;
+        }
+        boolean latin1 = true;
+        for (int i = 0; i < text.length() && latin1; i++) {
+            latin1 = text.charAt(i) < 0x100;
+        }
+        int payload = latin1 ? text.length() : 2 * text.length();
+        return STRING_OVERHEAD_BYTES + align(ARRAY_OVERHEAD_BYTES + payload);
+    }
+
+    static int align(int bytes) {
+        return (bytes + 7) & ~7;
+    }
+}
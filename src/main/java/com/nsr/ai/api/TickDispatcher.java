@@ -0,0 +1,129 @@
+package com.nsr.ai.api;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Runs queued tasks on the main server thread under a per-tick time budget.
+ * Instead of scheduling one Bukkit task per completion, all tasks share a single queue that is
+ * drained by one repeating task once per tick. When the budget is exhausted, the remaining tasks
+ * are carried over to the next tick. At least one task runs per tick so the queue always makes progress.
+ */
+final class TickDispatcher implements Executor {
+
+    static final long DEFAULT_BUDGET_MICROS = 2_000;
+
+    private final ConcurrentLinkedQueue<Task> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile long budgetNanos = TimeUnit.MICROSECONDS.toNanos(DEFAULT_BUDGET_MICROS);
+    private volatile int lastTickTasks;
+    private volatile long lastTickNanos;
+
+    // Written while holding this
+    private volatile BukkitTask timer;
+
+    /**
+     * Queues a task to run on the main thread.
+     * @throws IllegalStateException if the NSR-AI core plugin is not initialized; the task is not queued then.
+     */
+    @Override
+    public void execute(Runnable command) {
+        // Start the timer first, so a missing core plugin rejects the task instead of stranding it in the queue
+        ensureStarted();
+        queue.add(new Task(command, System.nanoTime()));
+        pending.incrementAndGet();
+    }
+
+    void setBudgetMicros(long budgetMicros) {
+        if (budgetMicros < 1) {
+            throw new IllegalArgumentException("Tick budget must be at least 1 microsecond: " + budgetMicros);
+        }
+        this.budgetNanos = TimeUnit.MICROSECONDS.toNanos(budgetMicros);
+    }
+
+    long getBudgetMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(budgetNanos);
+    }
+
+    /**
+     * Stops the repeating task, e.g. because the core plugin was disabled or replaced.
+     * Queued tasks are kept and the task is restarted on the next submission.
+     */
+    synchronized void reset() {
+        if (timer != null) {
+            timer.cancel();
+            timer = null;
+        }
+    }
+
+    /**
+     * Stops the repeating task and starts a new one for the current core plugin right away if tasks are queued,
+     * so they do not wait for the next submission.
+     */
+    synchronized void restart() {
+        reset();
+        if (pending.get() > 0) {
+            try {
+                ensureStarted();
+            } catch (IllegalStateException e) {
+                // Core plugin not ready yet; the next submission starts the task
+            }
+        }
+    }
+
+    DispatcherStats getStats() {
+        Task oldest = queue.peek();
+        long lagNanos = oldest == null ? 0 : Math.max(0, System.nanoTime() - oldest.enqueuedAt);
+        return new DispatcherStats(pending.get(), TimeUnit.NANOSECONDS.toMicros(lagNanos),
+                lastTickTasks, TimeUnit.NANOSECONDS.toMicros(lastTickNanos), getBudgetMicros());
+    }
+
+    private void ensureStarted() {
+        if (timer != null) {
+            return;
+        }
+        synchronized (this) {
+            if (timer != null) {
+                return;
+            }
+            Plugin plugin = NSRaiAPI.getPlugin();
+            timer = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> drain(plugin), 1L, 1L);
+        }
+    }
+
+    private void drain(Plugin plugin) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        int executed = 0;
+        Task task;
+        while ((task = queue.poll()) != null) {
+            pending.decrementAndGet();
+            executed++;
+            try {
+                task.command.run();
+            } catch (Throwable t) {
+                plugin.getLogger().log(Level.SEVERE, "Error in NSR-AI main-thread completion task", t);
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+        }
+        lastTickTasks = executed;
+        lastTickNanos = System.nanoTime() - start;
+    }
+
+    private static final class Task {
+        private final Runnable command;
+        private final long enqueuedAt;
+
+        private Task(Runnable command, long enqueuedAt) {
+            this.command = command;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.nsr.ai.api;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A snapshot of the latency histogram and counters of one instrumented API path.
+ * This class is immutable.
+ * @see NSRaiAPI#getMetrics()
+ */
+public final class TimerStats {
+    private final String name;
+    private final long count;
+    private final long errors;
+    private final long inFlight;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long[] buckets;
+
+    /**
+     * Constructs a new TimerStats snapshot.
+     * @param name The name of the instrumented path.
+     * @param count The number of completed calls.
+     * @param errors The number of completed calls that failed.
+     * @param inFlight The number of calls currently running.
+     * @param totalNanos The total latency of all completed calls, in nanoseconds.
+     * @param maxNanos The highest latency recorded, in nanoseconds.
+     * @param buckets The histogram bucket counts. Must not be modified afterwards.
+     */
+    TimerStats(String name, long count, long errors, long inFlight, long totalNanos, long maxNanos, long[] buckets) {
+        this.name = name;
+        this.count = count;
+        this.errors = errors;
+        this.inFlight = inFlight;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Gets the name of the instrumented path, e.g. {@code dispatch.GET_AI_RESPONSE} or {@code listener.pet}.
+     * @return The name.
+     */
+    public String getName() { return name; }
+    /**
+     * Gets the number of completed calls.
+     * @return The call count.
+     */
+    public long getCount() { return count; }
+    /**
+     * Gets the number of completed calls that failed with an exception.
+     * @return The error count.
+     */
+    public long getErrors() { return errors; }
+    /**
+     * Gets the number of calls running when the snapshot was taken.
+     * @return The in-flight count.
+     */
+    public long getInFlight() { return inFlight; }
+    /**
+     * Gets the mean latency of completed calls.
+     * @return The mean latency in microseconds, or 0 if no call completed.
+     */
+    public double getMeanMicros() { return count == 0 ? 0 : totalNanos / (double) count / 1_000; }
+    /**
+     * Gets the highest latency recorded.
+     * @return The maximum latency in microseconds.
+     */
+    public long getMaxMicros() { return TimeUnit.NANOSECONDS.toMicros(maxNanos); }
+
+    /**
+     * Gets a latency percentile. The reported value is within 12.5% above the exact percentile.
+     * @param percentile The percentile, between 0 and 100 (e.g. 99 for the 99th percentile).
+     * @return The latency in microseconds below which the given percentage of calls completed, or 0 if no call completed.
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100.
+     */
+    public long getPercentileMicros(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        long total = 0;
+        for (long bucket : buckets) {
+            total += bucket;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return TimeUnit.NANOSECONDS.toMicros(Math.min(LatencyRecorder.upperBoundOf(i), maxNanos));
+            }
+        }
+        return getMaxMicros();
+    }
+}
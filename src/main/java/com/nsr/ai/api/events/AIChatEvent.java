@@ -9,6 +9,7 @@ import org.bukkit.event.HandlerList;
  * This event is fired when a player interacts with the AI.
  * It contains the player, the message they sent, and the AI's response.
  * Addons can listen to this event to modify the AI's response or perform custom actions.
+ * This event is fired after the AI call; to reject messages before the AI is called, listen to {@link AIPreRequestEvent} instead.
  * <p>
  * To listen to this event, create a new class that implements the {@link org.bukkit.event.Listener} interface
  * and has a method annotated with {@link org.bukkit.event.EventHandler}.
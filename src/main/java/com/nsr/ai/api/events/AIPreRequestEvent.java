@@ -0,0 +1,89 @@
+package com.nsr.ai.api.events;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+/**
+ * This event is fired before a message is sent to the AI, before any upstream work (admission, batching or the AI call itself) starts.
+ * Cancelling it drops the request, so filters and moderation can reject messages without paying for an AI call.
+ * Listeners may also rewrite the message.
+ * <p>
+ * The event is fired on the thread that made the request. It is asynchronous (see {@link #isAsynchronous()})
+ * when that is not the main server thread, so listeners must not call thread-unsafe Bukkit methods.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * public class MyListener implements Listener {
+ *
+ *     @EventHandler
+ *     public void onAIPreRequest(AIPreRequestEvent event) {
+ *         if (event.getMessage().contains("forbidden")) {
+ *             // The request future completes exceptionally with a CancellationException
+ *             event.setCancelled(true);
+ *         }
+ *     }
+ * }
+ * }</pre>
+ */
+public class AIPreRequestEvent extends Event implements Cancellable {
+
+    private static final HandlerList handlers = new HandlerList();
+    private final Player player;
+    private String message;
+    private boolean cancelled;
+
+    public AIPreRequestEvent(Player player, String message, boolean async) {
+        super(async);
+        this.player = player;
+        this.message = message;
+        this.cancelled = false;
+    }
+
+    /**
+     * Gets the player who sent the message.
+     *
+     * @return The player, or null if the message has no sender or the sender is offline.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Gets the message that is about to be sent to the AI.
+     *
+     * @return The message.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Replaces the message that is sent to the AI.
+     *
+     * @param message The new message.
+     */
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean cancel) {
+        this.cancelled = cancel;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+}
@@ -0,0 +1,86 @@
+package com.nsr.ai.api.events;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+/**
+ * This event is fired when an AI response arrives, before it is handed to the addon that requested it.
+ * Listeners may replace the response, e.g. to redact it.
+ * For responses streamed natively by the core plugin, the event is fired once with the full text, right before the
+ * last chunk is delivered. Replacing the response has no effect there, since the earlier chunks were already delivered.
+ * <p>
+ * The event is fired on the thread that completed the request, which is usually an async thread, so logging and
+ * moderation listeners add no latency to the server tick. It is asynchronous (see {@link #isAsynchronous()}) whenever
+ * that is not the main server thread, so listeners must not call thread-unsafe Bukkit methods.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * public class MyListener implements Listener {
+ *
+ *     @EventHandler
+ *     public void onAIResponse(AIResponseEvent event) {
+ *         auditLog.write(event.getMessage() + " -> " + event.getResponse());
+ *     }
+ * }
+ * }</pre>
+ */
+public class AIResponseEvent extends Event {
+
+    private static final HandlerList handlers = new HandlerList();
+    private final Player player;
+    private final String message;
+    private String response;
+
+    public AIResponseEvent(Player player, String message, String response, boolean async) {
+        super(async);
+        this.player = player;
+        this.message = message;
+        this.response = response;
+    }
+
+    /**
+     * Gets the player who sent the message.
+     *
+     * @return The player, or null if the message has no sender or the sender is offline.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Gets the message that was sent to the AI.
+     *
+     * @return The message.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Gets the AI's response.
+     *
+     * @return The response.
+     */
+    public String getResponse() {
+        return response;
+    }
+
+    /**
+     * Replaces the response handed to the addon that requested it.
+     *
+     * @param response The new response.
+     */
+    public void setResponse(String response) {
+        this.response = response;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+}
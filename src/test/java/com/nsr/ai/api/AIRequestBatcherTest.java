@@ -0,0 +1,47 @@
+package com.nsr.ai.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AIRequestBatcherTest {
+
+    private static List<CompletableFuture<AIResponse>> echo(List<AIMessage> batch) {
+        List<CompletableFuture<AIResponse>> responses = new ArrayList<>(batch.size());
+        for (AIMessage message : batch) {
+            responses.add(CompletableFuture.completedFuture(new AIResponse(message.getContent(), true)));
+        }
+        return responses;
+    }
+
+    @Test
+    void fullBatchIsSentImmediately() {
+        List<Integer> batchSizes = new ArrayList<>();
+        AIRequestBatcher batcher = new AIRequestBatcher(60_000, 2, batch -> {
+            batchSizes.add(batch.size());
+            return echo(batch);
+        });
+        CompletableFuture<AIResponse> first = batcher.submit(new AIMessage("a", null));
+        CompletableFuture<AIResponse> second = batcher.submit(new AIMessage("b", null));
+        assertTrue(first.isDone());
+        assertEquals("a", first.join().getResponse());
+        assertEquals("b", second.join().getResponse());
+        assertEquals(List.of(2), batchSizes);
+        batcher.shutdown();
+    }
+
+    @Test
+    void shutdownFlushesPendingRequestsAndRefusesNewOnes() {
+        AIRequestBatcher batcher = new AIRequestBatcher(60_000, 10, AIRequestBatcherTest::echo);
+        CompletableFuture<AIResponse> pending = batcher.submit(new AIMessage("a", null));
+        batcher.shutdown();
+        assertEquals("a", pending.join().getResponse());
+        assertNull(batcher.submit(new AIMessage("b", null)));
+    }
+}
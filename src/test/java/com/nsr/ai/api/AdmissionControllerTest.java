@@ -0,0 +1,101 @@
+package com.nsr.ai.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControllerTest {
+
+    private static final int QUEUED = 20_000;
+
+    private static AdmissionController controller(int maxConcurrent, int maxQueued, UUID priority) {
+        return new AdmissionController(new AdmissionPolicy(maxConcurrent, maxQueued, 1, 1, priority::equals));
+    }
+
+    @Test
+    void drainsDeepQueueOfSynchronouslyFailingRequestsWithoutRecursion() {
+        AdmissionController admission = controller(1, QUEUED, UUID.randomUUID());
+        CompletableFuture<String> blocker = new CompletableFuture<>();
+        CompletableFuture<String> first = admission.submit(null, () -> blocker);
+        List<CompletableFuture<String>> queued = new ArrayList<>(QUEUED);
+        for (int i = 0; i < QUEUED; i++) {
+            queued.add(admission.submit(null, () -> {
+                throw new IllegalStateException("NSR-AI core plugin not initialized or API not ready.");
+            }));
+        }
+        assertEquals(QUEUED, admission.getStats().getQueueDepth());
+
+        blocker.complete("done");
+
+        assertEquals("done", first.join());
+        for (CompletableFuture<String> future : queued) {
+            assertTrue(future.isDone());
+            CompletionException error = assertThrows(CompletionException.class, future::join);
+            assertInstanceOf(IllegalStateException.class, error.getCause());
+        }
+        assertEquals(0, admission.getStats().getInFlight());
+        assertEquals(0, admission.getStats().getQueueDepth());
+    }
+
+    @Test
+    void drainsDeepQueueOfSynchronouslyCompletingRequestsWithoutRecursion() {
+        AdmissionController admission = controller(1, QUEUED, UUID.randomUUID());
+        CompletableFuture<String> blocker = new CompletableFuture<>();
+        admission.submit(null, () -> blocker);
+        List<CompletableFuture<String>> queued = new ArrayList<>(QUEUED);
+        for (int i = 0; i < QUEUED; i++) {
+            String value = "r" + i;
+            queued.add(admission.submit(null, () -> CompletableFuture.completedFuture(value)));
+        }
+
+        blocker.complete("done");
+
+        for (int i = 0; i < QUEUED; i++) {
+            assertTrue(queued.get(i).isDone());
+            assertEquals("r" + i, queued.get(i).join());
+        }
+        assertEquals(0, admission.getStats().getInFlight());
+        assertEquals(QUEUED + 1, admission.getStats().getAdmitted());
+    }
+
+    @Test
+    void rejectsWhenQueueIsFullAndLetsPrioritySendersDisplaceRegularOnes() {
+        UUID admin = UUID.randomUUID();
+        AdmissionController admission = controller(1, 1, admin);
+        CompletableFuture<String> blocker = new CompletableFuture<>();
+        admission.submit(null, () -> blocker);
+        CompletableFuture<String> regular = admission.submit(null, () -> CompletableFuture.completedFuture("regular"));
+        CompletableFuture<String> rejected = admission.submit(null, () -> CompletableFuture.completedFuture("rejected"));
+        CompletableFuture<String> priority = admission.submit(admin, () -> CompletableFuture.completedFuture("priority"));
+
+        CompletionException error = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        assertTrue(regular.isCompletedExceptionally());
+        assertFalse(priority.isDone());
+
+        blocker.complete("done");
+        assertEquals("priority", priority.join());
+    }
+
+    @Test
+    void rateLimitsRegularSenders() {
+        AdmissionController admission = controller(10, 10, UUID.randomUUID());
+        UUID player = UUID.randomUUID();
+        assertEquals("ok", admission.submit(player, () -> CompletableFuture.completedFuture("ok")).join());
+        CompletableFuture<String> limited = admission.submit(player, () -> CompletableFuture.completedFuture("ok"));
+        CompletionException error = assertThrows(CompletionException.class, limited::join);
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        assertEquals(1, admission.getStats().getRateLimited());
+    }
+}
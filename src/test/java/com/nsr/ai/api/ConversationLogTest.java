@@ -0,0 +1,124 @@
+package com.nsr.ai.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConversationLogTest {
+
+    private final UUID player = UUID.randomUUID();
+    private Path directory;
+    private ConversationLog log;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("nsrai-log");
+        log = new ConversationLog(directory);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        log.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private AIMessage message(String content) {
+        return new AIMessage(content, player, 1_000L);
+    }
+
+    private static List<String> contents(List<AIMessage> messages) {
+        List<String> contents = new ArrayList<>(messages.size());
+        messages.forEach(message -> contents.add(message.getContent()));
+        return contents;
+    }
+
+    @Test
+    void reloadsAppendedMessages() {
+        log.append(player, message("one"));
+        log.append(player, message("two"));
+        log.close();
+
+        log = new ConversationLog(directory);
+        List<AIMessage> loaded = log.load(player);
+        assertEquals(List.of("one", "two"), contents(loaded));
+        assertTrue(loaded.get(0).isFrom(player));
+        assertEquals(1_000L, loaded.get(0).getTimestamp());
+    }
+
+    @Test
+    void clearedMessagesAreNeverLoadedAgain() {
+        for (int round = 0; round < 50; round++) {
+            log.append(player, message("old " + round));
+            log.clear(player);
+            // Whether or not the rewrite has run yet, the old message must be gone
+            assertEquals(List.of(), contents(log.load(player)));
+            log.append(player, message("new " + round));
+            assertEquals(List.of("new " + round), contents(log.load(player)));
+            log.clear(player).join();
+        }
+        log.close();
+        log = new ConversationLog(directory);
+        assertEquals(List.of(), contents(log.load(player)));
+    }
+
+    @Test
+    void compactionKeepsRetainedAndLaterMessages() {
+        log.append(player, message("one"));
+        log.append(player, message("two"));
+        log.append(player, message("three"));
+        CompletableFuture<Void> compaction = log.compact(player, List.of(message("summary")));
+        log.append(player, message("four"));
+        assertEquals(List.of("summary", "four"), contents(log.load(player)));
+
+        compaction.join();
+        assertEquals(List.of("summary", "four"), contents(log.load(player)));
+        assertEquals(2, log.recordCount(player));
+
+        log.close();
+        log = new ConversationLog(directory);
+        assertEquals(List.of("summary", "four"), contents(log.load(player)));
+    }
+
+    @Test
+    void recoversRecordsBeforeATornWrite() throws IOException {
+        log.append(player, message("one"));
+        log.append(player, message("two"));
+        log.close();
+        Path file = directory.resolve(player + ".log");
+        Files.write(file, new byte[] {0, 0, 0, 99, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        log = new ConversationLog(directory);
+        assertEquals(List.of("one", "two"), contents(log.load(player)));
+        log.append(player, message("three"));
+        log.close();
+
+        log = new ConversationLog(directory);
+        assertEquals(List.of("one", "two", "three"), contents(log.load(player)));
+    }
+
+    @Test
+    void historyStoreDoesNotResurrectClearedHistory() {
+        ConversationHistoryStore store = new ConversationHistoryStore(100, 1_000_000, log);
+        store.append(player, message("old"));
+        store.unload(player);
+        store.clear(player);
+        store.append(player, message("new"));
+        assertEquals(List.of("new"), contents(store.getAll(player)));
+    }
+}
@@ -0,0 +1,72 @@
+package com.nsr.ai.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CooldownTrackerTest {
+
+    private final UUID player = UUID.randomUUID();
+    private final CooldownTracker tracker = new CooldownTracker(5, 8);
+
+    @AfterEach
+    void closeTracker() {
+        tracker.close();
+    }
+
+    @Test
+    void cooldownExpiresAndNotifiesListeners() throws InterruptedException {
+        BlockingQueue<UUID> expired = new LinkedBlockingQueue<>();
+        tracker.addListener(expired::add);
+        tracker.start(player, 30);
+        assertTrue(tracker.getState(player).get().isActive());
+        assertEquals(player, expired.poll(5, TimeUnit.SECONDS));
+        assertFalse(tracker.getState(player).get().isActive());
+    }
+
+    @Test
+    void cooldownLongerThanOneTurnOfTheWheelExpiresOnce() throws InterruptedException {
+        BlockingQueue<UUID> expired = new LinkedBlockingQueue<>();
+        tracker.addListener(expired::add);
+        // 8 buckets of 5 ms make one turn 40 ms long
+        tracker.start(player, 100);
+        assertEquals(player, expired.poll(5, TimeUnit.SECONDS));
+        assertEquals(0, tracker.getState(player).get().getRemainingMillis());
+        assertNull(expired.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void cancelledAndForgottenCooldownsDoNotNotify() throws InterruptedException {
+        BlockingQueue<UUID> expired = new LinkedBlockingQueue<>();
+        tracker.addListener(expired::add);
+        UUID other = UUID.randomUUID();
+        tracker.start(player, 20);
+        tracker.start(other, 20);
+        tracker.cancel(player);
+        tracker.forget(other);
+        assertNull(expired.poll(100, TimeUnit.MILLISECONDS));
+        assertSame(CooldownState.INACTIVE, tracker.getState(player).get());
+        assertFalse(tracker.getState(other).isPresent());
+    }
+
+    @Test
+    void statesOlderThanTheMaximumAgeAreUnknown() throws InterruptedException {
+        tracker.start(player, 0);
+        assertTrue(tracker.getState(player, 1_000).isPresent());
+        Thread.sleep(20);
+        assertFalse(tracker.getState(player, 10).isPresent());
+        assertTrue(tracker.getState(player).isPresent());
+        tracker.clear();
+        assertFalse(tracker.getState(player).isPresent());
+    }
+}
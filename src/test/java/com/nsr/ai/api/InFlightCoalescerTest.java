@@ -0,0 +1,83 @@
+package com.nsr.ai.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InFlightCoalescerTest {
+
+    private final UUID sender = UUID.randomUUID();
+    private final InFlightCoalescer<String> coalescer = new InFlightCoalescer<>();
+
+    @Test
+    void identicalRequestsShareOneUpstreamCall() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> first = coalescer.submit(sender, "Hello  World", () -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<String> second = coalescer.submit(sender, " hello world ", () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        upstream.complete("hi");
+        assertEquals(1, calls.get());
+        assertEquals("hi", first.join());
+        assertEquals("hi", second.join());
+        assertEquals(1, coalescer.getCollapsedCount());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    void nullUpstreamResultFailsAndReleasesTheKey() {
+        CompletableFuture<String> failed = coalescer.submit(sender, "hello", () -> null);
+        CompletionException error = assertThrows(CompletionException.class, failed::join);
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertEquals(0, coalescer.getInFlightCount());
+
+        CompletableFuture<String> retry = coalescer.submit(sender, "hello", () -> CompletableFuture.completedFuture("ok"));
+        assertEquals("ok", retry.join());
+    }
+
+    @Test
+    void throwingUpstreamRethrowsAndReleasesTheKey() {
+        IllegalStateException thrown = new IllegalStateException("not initialized");
+        IllegalStateException caught = assertThrows(IllegalStateException.class,
+                () -> coalescer.submit(sender, "hello", () -> {
+                    throw thrown;
+                }));
+        assertSame(thrown, caught);
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    void failedUpstreamFailsEveryCallerAndReleasesTheKey() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> first = coalescer.submit(sender, "hello", () -> upstream);
+        CompletableFuture<String> second = coalescer.submit(sender, "hello", CompletableFuture::new);
+        upstream.completeExceptionally(new IllegalArgumentException("boom"));
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    void cancellingOneCallerDoesNotAffectOthers() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> first = coalescer.submit(sender, "hello", () -> upstream);
+        CompletableFuture<String> second = coalescer.submit(sender, "hello", CompletableFuture::new);
+        first.cancel(false);
+        upstream.complete("hi");
+        assertEquals("hi", second.join());
+    }
+}
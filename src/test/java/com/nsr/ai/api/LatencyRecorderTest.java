@@ -0,0 +1,41 @@
+package com.nsr.ai.api;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyRecorderTest {
+
+    private static final int LAST_INDEX = LatencyRecorder.indexOf(Long.MAX_VALUE);
+
+    @Test
+    void smallValuesGetOneBucketEach() {
+        for (int value = 0; value < 16; value++) {
+            assertEquals(value, LatencyRecorder.indexOf(value));
+            assertEquals(value, LatencyRecorder.upperBoundOf(value));
+        }
+    }
+
+    @Test
+    void bucketsAreContiguousUpToTheLargestLong() {
+        assertEquals(Long.MAX_VALUE, LatencyRecorder.upperBoundOf(LAST_INDEX));
+        for (int index = 0; index < LAST_INDEX; index++) {
+            long upper = LatencyRecorder.upperBoundOf(index);
+            assertEquals(index, LatencyRecorder.indexOf(upper));
+            assertEquals(index + 1, LatencyRecorder.indexOf(upper + 1));
+        }
+    }
+
+    @Test
+    void upperBoundIsWithinOneEighthOfTheValue() {
+        for (int shift = 4; shift < 63; shift++) {
+            long[] values = {1L << shift, (1L << shift) + 1, (3L << (shift - 1)) - 1, (1L << (shift + 1)) - 1};
+            for (long value : values) {
+                long upper = LatencyRecorder.upperBoundOf(LatencyRecorder.indexOf(value));
+                assertTrue(upper >= value, "upper bound " + upper + " below " + value);
+                assertTrue(upper - value <= value / 8, "upper bound " + upper + " too far from " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.nsr.ai.api;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MetricsRegistryTest {
+
+    @Test
+    void sameListenerGetsSameTimedWrapper() {
+        PetListener pet = petData -> { };
+        NPCListener npc = (player, npcName) -> { };
+        GUIListener gui = (player, eventType) -> { };
+        assertSame(MetricsRegistry.timedPet(pet), MetricsRegistry.timedPet(pet));
+        assertSame(MetricsRegistry.timedNPC(npc), MetricsRegistry.timedNPC(npc));
+        assertSame(MetricsRegistry.timedGUI(gui), MetricsRegistry.timedGUI(gui));
+        assertNotSame(MetricsRegistry.timedPet(pet), MetricsRegistry.timedPet(petData -> { }));
+    }
+}
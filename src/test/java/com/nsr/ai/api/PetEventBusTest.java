@@ -0,0 +1,54 @@
+package com.nsr.ai.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PetEventBusTest {
+
+    private final PetEventBus bus = new PetEventBus();
+
+    @Test
+    void eventsWithoutOwnerReachAllOwnerSubscriptions() throws InterruptedException {
+        BlockingQueue<PetDataSnapshot> received = new LinkedBlockingQueue<>();
+        bus.subscribe(null, EnumSet.noneOf(PetEventKind.class), true, received::add);
+        PetDataSnapshot ownerless = new PetDataSnapshot(null, "stray");
+        bus.onPetEvent(PetEventKind.UPDATE, ownerless);
+        assertSame(ownerless, received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void ownerSubscriptionsOnlySeeTheirOwner() throws InterruptedException {
+        UUID owner = UUID.randomUUID();
+        BlockingQueue<PetDataSnapshot> received = new LinkedBlockingQueue<>();
+        bus.subscribe(owner, EnumSet.of(PetEventKind.UPDATE), false, received::add);
+        bus.onPetEvent(PetEventKind.UPDATE, new PetDataSnapshot(UUID.randomUUID(), "other"));
+        bus.onPetEvent(PetEventKind.UPDATE, new PetDataSnapshot(null, "stray"));
+        PetDataSnapshot own = new PetDataSnapshot(owner, "own");
+        bus.onPetEvent(PetEventKind.UPDATE, own);
+        assertSame(own, received.poll(5, TimeUnit.SECONDS));
+        assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void failingListenerKeepsReceivingWithoutCorePlugin() throws InterruptedException {
+        BlockingQueue<PetDataSnapshot> received = new LinkedBlockingQueue<>();
+        bus.subscribe(null, EnumSet.noneOf(PetEventKind.class), true, pet -> {
+            received.add(pet);
+            throw new IllegalStateException("listener failure");
+        });
+        PetDataSnapshot first = new PetDataSnapshot(null, "first");
+        PetDataSnapshot second = new PetDataSnapshot(null, "second");
+        bus.onPetEvent(PetEventKind.UPDATE, first);
+        assertSame(first, received.poll(5, TimeUnit.SECONDS));
+        bus.onPetEvent(PetEventKind.UPDATE, second);
+        assertSame(second, received.poll(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,40 @@
+package com.nsr.ai.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerStatesTest {
+
+    @Test
+    void constructorCopiesItsArguments() {
+        UUID player = UUID.randomUUID();
+        UUID[] ids = {player};
+        BitSet aiEnabled = new BitSet();
+        aiEnabled.set(0);
+        BitSet adminMode = new BitSet();
+        long[] cooldowns = {500};
+        PlayerStates states = new PlayerStates(ids, aiEnabled, adminMode, cooldowns);
+        ids[0] = UUID.randomUUID();
+        aiEnabled.clear(0);
+        adminMode.set(0);
+        cooldowns[0] = 0;
+        assertEquals(player, states.getPlayerId(0));
+        assertTrue(states.isAiEnabled(0));
+        assertFalse(states.isAdminModeEnabled(0));
+        assertEquals(500, states.getCooldownRemaining(0));
+        assertEquals(0, states.indexOf(player));
+    }
+
+    @Test
+    void cooldownsMustMatchPlayers() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PlayerStates(new UUID[2], new BitSet(), new BitSet(), new long[1]));
+    }
+}
@@ -0,0 +1,80 @@
+package com.nsr.ai.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SummarizationSchedulerTest {
+
+    private static final ConversationStats LARGE = new ConversationStats(100, 100_000, 0, 10_000);
+    private static final ConversationStats SMALL = new ConversationStats(1, 10, 0, 1);
+
+    @Test
+    void drainsLongQueueOfSynchronousSummariesWithoutRecursion() {
+        CompletableFuture<Void> blocker = new CompletableFuture<>();
+        UUID first = UUID.randomUUID();
+        AtomicInteger summarized = new AtomicInteger();
+        SummarizationScheduler scheduler = new SummarizationScheduler(id -> LARGE, id -> {
+            summarized.incrementAndGet();
+            return id.equals(first) ? blocker : CompletableFuture.completedFuture(null);
+        }, 1, 1, 1);
+        scheduler.submit(first);
+        List<UUID> queued = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            queued.add(UUID.randomUUID());
+        }
+        CompletableFuture<Void> all = scheduler.checkAll(queued);
+
+        blocker.complete(null);
+
+        assertTrue(all.isDone());
+        assertEquals(20_001, summarized.get());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    void skipsPlayersBelowThresholdAndNeverQueuesAPlayerTwice() {
+        UUID small = UUID.randomUUID();
+        UUID large = UUID.randomUUID();
+        CompletableFuture<Void> running = new CompletableFuture<>();
+        AtomicInteger summarized = new AtomicInteger();
+        SummarizationScheduler scheduler = new SummarizationScheduler(id -> id.equals(small) ? SMALL : LARGE, id -> {
+            summarized.incrementAndGet();
+            return running;
+        }, 1_000, 1_000_000, 2);
+
+        assertTrue(scheduler.check(small).isDone());
+        CompletableFuture<Void> pending = scheduler.check(large);
+        assertFalse(pending.isDone());
+        assertSame(pending, scheduler.check(large));
+        assertEquals(1, summarized.get());
+
+        running.complete(null);
+        assertTrue(pending.isDone());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    void throwingSummarizerFailsOnlyThatPlayer() {
+        UUID failing = UUID.randomUUID();
+        SummarizationScheduler scheduler = new SummarizationScheduler(id -> LARGE, id -> {
+            if (id.equals(failing)) {
+                throw new IllegalStateException("not initialized");
+            }
+            return CompletableFuture.completedFuture(null);
+        }, 1, 1, 1);
+
+        assertTrue(scheduler.submit(failing).isCompletedExceptionally());
+        assertFalse(scheduler.submit(UUID.randomUUID()).isCompletedExceptionally());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+}